@@ -0,0 +1,156 @@
+package com.bintang.usermanagement.reactive;
+
+import com.bintang.usermanagement.dto.response.ErrorResponse;
+import com.bintang.usermanagement.exception.DuplicateResourceException;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.exception.PreconditionFailedException;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps handler errors to the same ErrorResponse bodies and statuses as GlobalExceptionHandler.
+ */
+@Slf4j
+@Component
+public class ReactiveErrorHandler {
+
+    /**
+     * Unique constraints and the request field each one protects.
+     */
+    private static final Map<String, String> UNIQUE_CONSTRAINT_FIELDS = Map.of(
+            "ux_users_email_active", "email"
+    );
+
+    public Mono<ServerResponse> handle(Throwable ex, ServerRequest request) {
+        String path = request.path();
+
+        if (ex instanceof RequestValidationException validation) {
+            log.warn("Validation failed on path={}", path);
+            return build(HttpStatus.BAD_REQUEST, "Validation failed", path, validation.getErrors());
+        }
+
+        if (ex instanceof ResourceNotFoundException notFound) {
+            log.warn(
+                    "Resource not found: resource={}, field={}, value={}, path={}",
+                    notFound.getResourceName(),
+                    notFound.getFieldName(),
+                    notFound.getFieldValue(),
+                    path);
+            return build(HttpStatus.NOT_FOUND, "Resource not found", path,
+                    Map.of(notFound.getFieldName(), List.of(notFound.getMessage())));
+        }
+
+        if (ex instanceof DuplicateResourceException duplicate) {
+            return duplicate(duplicate, path);
+        }
+
+        if (ex instanceof DataIntegrityViolationException) {
+            String field = duplicateField(ex);
+            if (field != null) {
+                return duplicate(new DuplicateResourceException(field, field + " already exists"), path);
+            }
+
+            log.warn("Data integrity violation on path={}", path, ex);
+            return build(HttpStatus.CONFLICT, "Data integrity violation", path,
+                    Map.of("error", List.of("request conflicts with existing data")));
+        }
+
+        if (ex instanceof PreconditionFailedException precondition) {
+            log.warn(
+                    "Precondition failed: resource={}, id={}, expectedVersion={}, path={}",
+                    precondition.getResourceName(),
+                    precondition.getId(),
+                    precondition.getExpectedVersion(),
+                    path);
+            return build(HttpStatus.PRECONDITION_FAILED, "Precondition failed", path,
+                    Map.of("version", List.of(precondition.getMessage())));
+        }
+
+        if (ex instanceof OptimisticLockingFailureException) {
+            log.warn("Optimistic locking failure on path={}", path);
+            return build(HttpStatus.PRECONDITION_FAILED, "Precondition failed", path,
+                    Map.of("version", List.of("resource was modified concurrently")));
+        }
+
+        if (ex instanceof InvalidRequestException invalid) {
+            log.warn(
+                    "Invalid request: field={}, message={}, path={}",
+                    invalid.getField(),
+                    invalid.getMessage(),
+                    path);
+            return build(HttpStatus.BAD_REQUEST, "Invalid request", path,
+                    Map.of(invalid.getField(), List.of(invalid.getMessage())));
+        }
+
+        // unreadable bodies, bad path variables, unsupported media types
+        if (ex instanceof ResponseStatusException status) {
+            log.warn("Request rejected with status={} on path={}: {}", status.getStatusCode(), path, status.getReason());
+            return build(status.getStatusCode(), "Invalid request", path,
+                    Map.of("request", List.of(String.valueOf(status.getReason()))));
+        }
+
+        log.error("Unhandled exception occurred on path={}", path, ex);
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", path,
+                Map.of("error", List.of(String.valueOf(ex.getMessage()))));
+    }
+
+    /**
+     * Request field behind a unique constraint violation, or null for any other error.
+     */
+    static String duplicateField(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PostgresqlException postgres) {
+                String constraintName = postgres.getErrorDetails().getConstraintName().orElse(null);
+                return constraintName == null ? null : UNIQUE_CONSTRAINT_FIELDS.get(constraintName.toLowerCase());
+            }
+            // translated exceptions keep the server message: ... violates unique constraint "ux_users_email_active"
+            String message = cause.getMessage();
+            if (message != null) {
+                for (Map.Entry<String, String> constraint : UNIQUE_CONSTRAINT_FIELDS.entrySet()) {
+                    if (message.contains("\"" + constraint.getKey() + "\"")) {
+                        return constraint.getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Mono<ServerResponse> duplicate(DuplicateResourceException ex, String path) {
+        log.warn(
+                "Duplicate resource: field={}, message={}, path={}",
+                ex.getField(),
+                ex.getMessage(),
+                path);
+        return build(HttpStatus.CONFLICT, "Duplicate resource", path,
+                Map.of(ex.getField(), List.of(ex.getMessage())));
+    }
+
+    private Mono<ServerResponse> build(HttpStatusCode status, String message, String path,
+                                       Map<String, List<String>> errors) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code(status.value())
+                .message(message)
+                .path(path)
+                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
+                .errors(errors)
+                .build();
+
+        return ServerResponse.status(status).bodyValue(errorResponse);
+    }
+}
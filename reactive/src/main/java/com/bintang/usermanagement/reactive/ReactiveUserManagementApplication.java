@@ -0,0 +1,18 @@
+package com.bintang.usermanagement.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveUserManagementApplication {
+
+	private static final Logger log = LoggerFactory.getLogger(ReactiveUserManagementApplication.class);
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveUserManagementApplication.class, args);
+		log.info("REACTIVE SERVER IS RUNNING");
+	}
+
+}
@@ -0,0 +1,247 @@
+package com.bintang.usermanagement.reactive;
+
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * R2DBC access to the users table owned by the servlet application's Flyway migrations.
+ * Queries keep the same predicate shapes as the JPA side, so they hit the same indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String COLUMNS = "id, name, email, version";
+
+    /**
+     * Sortable properties; anything else would be concatenated into ORDER BY.
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "name", "email");
+
+    /**
+     * Rows fetched per round trip while exporting; demand beyond that waits on the subscriber.
+     */
+    static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserResponse> insert(String name, String email) {
+        return databaseClient.sql("""
+                        insert into users (id, name, email, is_deleted, version)
+                        values (nextval('users_seq'), :name, :email, false, 0)
+                        returning id, name, email, version
+                        """)
+                .bind("name", name)
+                .bind("email", email)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * Emails taken by live users; ux_users_email_active lets deleted users' emails be reused.
+     */
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("select email from users where email in (:emails) and is_deleted = false")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    public Mono<UserResponse> findById(long id) {
+        return databaseClient.sql("select " + COLUMNS + " from users where id = :id and is_deleted = false")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * Version-only lookup used to answer conditional requests without loading the user.
+     */
+    public Mono<Long> findVersionById(long id) {
+        return databaseClient.sql("select version from users where id = :id and is_deleted = false")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    /**
+     * One page of the filter, fetching {@code limit} rows from the page offset. Pass
+     * page size + 1 to find out whether another page follows without counting.
+     */
+    public Flux<UserResponse> findPage(String name, String email, Pageable pageable, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("select " + COLUMNS + " from users");
+        appendFilter(sql, params, name, email);
+        sql.append(orderBy(pageable.getSort()));
+        sql.append(" limit :limit offset :offset");
+        params.put("limit", limit);
+        params.put("offset", pageable.getOffset());
+
+        return bindAll(databaseClient.sql(sql.toString()), params)
+                .map(ReactiveUserRepository::toResponse)
+                .all();
+    }
+
+    public Mono<Long> count(String name, String email) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("select count(*) from users");
+        appendFilter(sql, params, name, email);
+
+        return bindAll(databaseClient.sql(sql.toString()), params)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Planner row estimate for the filter, read from EXPLAIN like UserRepositoryCustomImpl.
+     */
+    public Mono<Long> estimateCount(String name, String email) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("explain (format json) select 1 from users");
+        appendFilter(sql, params, name, email);
+
+        return bindAll(databaseClient.sql(sql.toString()), params)
+                .map(row -> row.get(0, String.class))
+                .one()
+                .map(ReactiveUserRepository::planRows);
+    }
+
+    /**
+     * Updates and returns the user, or completes empty when it is missing, deleted or, with
+     * an expected version, no longer at that version.
+     */
+    public Mono<UserResponse> update(long id, String name, String email, Long expectedVersion) {
+        String sql = """
+                update users
+                set name = :name, email = :email, version = version + 1
+                where id = :id and is_deleted = false
+                """ + (expectedVersion == null ? "" : " and version = :version ") + """
+                returning id, name, email, version
+                """;
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("id", id)
+                .bind("name", name)
+                .bind("email", email);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+
+        return spec.map(ReactiveUserRepository::toResponse).one();
+    }
+
+    /**
+     * Soft delete; emits the number of rows changed (0 or 1).
+     */
+    public Mono<Long> softDelete(long id, Long expectedVersion) {
+        String sql = "update users set is_deleted = true, deleted_at = now(), version = version + 1"
+                + " where id = :id and is_deleted = false"
+                + (expectedVersion == null ? "" : " and version = :version");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("id", id);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Every active user in id order. Rows are pulled from the server-side portal
+     * {@value #EXPORT_FETCH_SIZE} at a time, as the subscriber requests them.
+     */
+    public Flux<UserResponse> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from users where is_deleted = false order by id")
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(ReactiveUserRepository::toResponse)
+                .all();
+    }
+
+    /**
+     * Same escaping as UserSpecification.containsPattern, so LIKE metacharacters match literally.
+     */
+    static String containsPattern(String term) {
+        String escaped = term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        boolean hasId = false;
+
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new InvalidRequestException("sort", "sort must be one of " + SORTABLE);
+            }
+            hasId |= order.getProperty().equals("id");
+            orderBy.append(order.getProperty())
+                    .append(order.isAscending() ? " asc" : " desc")
+                    .append(", ");
+        }
+
+        // id breaks ties so OFFSET pages stay stable
+        if (!hasId) {
+            orderBy.append("id asc, ");
+        }
+        return orderBy.substring(0, orderBy.length() - 2);
+    }
+
+    private static void appendFilter(StringBuilder sql, Map<String, Object> params, String name, String email) {
+        sql.append(" where is_deleted = false");
+
+        // mirrors UserSpecification.filter so the pg_trgm indexes apply
+        if (StringUtils.hasText(name)) {
+            sql.append(" and lower(name) like :name escape '\\'");
+            params.put("name", containsPattern(name));
+        }
+        if (StringUtils.hasText(email)) {
+            sql.append(" and lower(email) like :email escape '\\'");
+            params.put("email", containsPattern(email));
+        }
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> params) {
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec;
+    }
+
+    private static long planRows(String plan) {
+        try {
+            return OBJECT_MAPPER.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", ex);
+        }
+    }
+
+    private static UserResponse toResponse(Readable row) {
+        return UserResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.bintang.usermanagement.reactive;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bean validation failures of a request body, grouped by property path; the functional
+ * counterpart of MethodArgumentNotValidException.
+ */
+@Getter
+public class RequestValidationException extends RuntimeException {
+
+    private final Map<String, List<String>> errors;
+
+    public RequestValidationException(Map<String, List<String>> errors) {
+        super("Validation failed");
+        this.errors = errors;
+    }
+
+}
@@ -0,0 +1,371 @@
+package com.bintang.usermanagement.reactive;
+
+import com.bintang.usermanagement.controller.UserETags;
+import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.CreateUsersBatchRequest;
+import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BatchItemResult;
+import com.bintang.usermanagement.dto.response.PageResponse;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.exception.PreconditionFailedException;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import com.bintang.usermanagement.service.CountMode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux handlers for /api/users with the same requests, envelopes and status codes as
+ * UserController. Errors are signalled as the shared exception types and rendered by
+ * ReactiveErrorHandler.
+ */
+@Slf4j
+@Component
+public class UserHandler {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    /**
+     * Same cap as Spring Data's PageableHandlerMethodArgumentResolver.
+     */
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final ReactiveUserRepository userRepository;
+    private final Validator validator;
+    private final int minTermLength;
+
+    public UserHandler(ReactiveUserRepository userRepository,
+                       Validator validator,
+                       @Value("${app.users.search.min-term-length:3}") int minTermLength) {
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.minTermLength = minTermLength;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return body(request, CreateUserRequest.class)
+                .flatMap(body -> userRepository.insert(body.getName(), body.getEmail()))
+                .doOnNext(user -> log.info("User created successfully, id={}", user.getId()))
+                .flatMap(user -> ServerResponse.status(HttpStatus.CREATED)
+                        .bodyValue(ApiResponse.success("User created successfully", user)));
+    }
+
+    public Mono<ServerResponse> createAll(ServerRequest request) {
+        return body(request, CreateUsersBatchRequest.class)
+                .flatMap(body -> createAll(body.getUsers()))
+                .flatMap(response -> ServerResponse.ok()
+                        .bodyValue(ApiResponse.success("Users batch processed", response)));
+    }
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        Pageable pageable = pageable(request);
+        CountMode countMode = CountMode.from(request.queryParam("count").orElse("exact"));
+
+        return findPage(null, null, pageable, countMode)
+                .flatMap(page -> ServerResponse.ok()
+                        .eTag(UserETags.of(page))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .bodyValue(ApiResponse.success("Users retrieved successfully", PageResponse.of(page))));
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String name = request.queryParam("name").orElse(null);
+        String email = request.queryParam("email").orElse(null);
+        validateSearchTerm("name", name);
+        validateSearchTerm("email", email);
+        Pageable pageable = pageable(request);
+        CountMode countMode = CountMode.from(request.queryParam("count").orElse("exact"));
+
+        return findPage(name, email, pageable, countMode)
+                .flatMap(page -> ServerResponse.ok()
+                        .eTag(UserETags.of(page))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .bodyValue(ApiResponse.success("User found", PageResponse.of(page))));
+    }
+
+    /**
+     * Streams every user; the Netty write path drives demand, so at most a fetch-size
+     * window of rows is buffered no matter how many users are exported.
+     */
+    public Mono<ServerResponse> export(ServerRequest request) {
+        String format = request.queryParam("format").orElse("ndjson").toLowerCase();
+
+        return switch (format) {
+            case "ndjson" -> ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(userRepository.streamAll(), UserResponse.class);
+            case "csv" -> ServerResponse.ok()
+                    .contentType(TEXT_CSV)
+                    .header("Content-Disposition", "attachment; filename=users.csv")
+                    .body(Flux.concat(
+                            Flux.just("id,name,email\n"),
+                            userRepository.streamAll().map(UserHandler::csvLine)), String.class);
+            default -> Mono.error(new InvalidRequestException("format", "format must be ndjson or csv"));
+        };
+    }
+
+    public Mono<ServerResponse> getById(ServerRequest request) {
+        long id = id(request);
+        // deferred: on a matching If-None-Match only the version query runs
+        Mono<ServerResponse> full = Mono.defer(() -> userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "id", id)))
+                .flatMap(user -> ServerResponse.ok()
+                        .eTag(UserETags.of(user.getVersion()))
+                        .bodyValue(ApiResponse.success("User retrieved successfully", user))));
+
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return full;
+        }
+
+        // answered from a version-only query, without loading or serializing the user
+        return userRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "id", id)))
+                .map(version -> UserETags.of(version))
+                .flatMap(etag -> UserETags.matches(ifNoneMatch, etag)
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build()
+                        : full);
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        long id = id(request);
+        Long expectedVersion = UserETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+
+        return body(request, UpdateUserRequest.class)
+                .flatMap(body -> userRepository.update(id, body.getName(), body.getEmail(), expectedVersion))
+                .switchIfEmpty(Mono.defer(() -> this.<UserResponse>notUpdated(id, expectedVersion)))
+                .doOnNext(user -> log.info("User updated successfully, id={}", user.getId()))
+                .flatMap(user -> ServerResponse.ok()
+                        .eTag(UserETags.of(user.getVersion()))
+                        .bodyValue(ApiResponse.success("User updated successfully", user)));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        long id = id(request);
+        Long expectedVersion = UserETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+
+        return userRepository.softDelete(id, expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(updated)
+                        : this.<Long>notUpdated(id, expectedVersion))
+                .doOnNext(updated -> log.info("User deleted (soft delete) successfully, id={}", id))
+                .flatMap(updated -> ServerResponse.ok()
+                        .bodyValue(ApiResponse.success(
+                                "User deleted successfully",
+                                UserResponse.builder().build())));
+    }
+
+    private Mono<BatchCreateUsersResponse> createAll(List<CreateUserRequest> requests) {
+        log.info("Creating users in batch, size={}", requests.size());
+
+        Set<String> emails = requests.stream()
+                .map(CreateUserRequest::getEmail)
+                .collect(Collectors.toSet());
+
+        return userRepository.findExistingEmails(emails)
+                .collect(Collectors.toCollection(HashSet::new))
+                .flatMapMany(takenEmails -> Flux.range(0, requests.size())
+                        // one insert in flight at a time keeps results in request order
+                        .concatMap(index -> {
+                            CreateUserRequest item = requests.get(index);
+                            // add() also rejects emails repeated within the same request
+                            if (!takenEmails.add(item.getEmail())) {
+                                return Mono.just(BatchItemResult.duplicate(index));
+                            }
+                            return userRepository.insert(item.getName(), item.getEmail())
+                                    .map(user -> BatchItemResult.created(index, user))
+                                    // a concurrent request took the email after our lookup
+                                    .onErrorResume(ex -> ex instanceof DataIntegrityViolationException
+                                                    && ReactiveErrorHandler.duplicateField(ex) != null,
+                                            ex -> Mono.just(BatchItemResult.duplicate(index)));
+                        }))
+                .collectList()
+                .map(results -> {
+                    int created = (int) results.stream()
+                            .filter(result -> result.getUser() != null)
+                            .count();
+
+                    log.info("Batch creation completed, created={}, failed={}",
+                            created, requests.size() - created);
+
+                    return BatchCreateUsersResponse.builder()
+                            .created(created)
+                            .failed(requests.size() - created)
+                            .results(results)
+                            .build();
+                });
+    }
+
+    private Mono<Slice<UserResponse>> findPage(String name, String email, Pageable pageable, CountMode countMode) {
+        int size = pageable.getPageSize();
+
+        if (countMode == CountMode.NONE) {
+            return userRepository.findPage(name, email, pageable, size + 1)
+                    .collectList()
+                    .map(content -> {
+                        boolean hasNext = content.size() > size;
+                        List<UserResponse> page = hasNext ? content.subList(0, size) : content;
+                        return new SliceImpl<>(page, pageable, hasNext);
+                    });
+        }
+
+        return userRepository.findPage(name, email, pageable, size)
+                .collectList()
+                .flatMap(content -> {
+                    // a short page already tells the total, as PageableExecutionUtils does
+                    if (!content.isEmpty() && content.size() < size) {
+                        return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+                    }
+                    if (pageable.getOffset() == 0 && content.isEmpty()) {
+                        return Mono.just(new PageImpl<>(content, pageable, 0));
+                    }
+
+                    Mono<Long> total = countMode == CountMode.EXACT
+                            ? userRepository.count(name, email)
+                            // an estimate below what this page already proves would contradict the content
+                            : userRepository.estimateCount(name, email)
+                                    .map(estimate -> Math.max(estimate, pageable.getOffset() + size));
+                    return total.map(count -> new PageImpl<>(content, pageable, count));
+                });
+    }
+
+    /**
+     * A conditional write that matched nothing: tell a stale version apart from a missing user.
+     */
+    private <T> Mono<T> notUpdated(long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new ResourceNotFoundException("User", "id", id));
+        }
+        return userRepository.findVersionById(id)
+                .hasElement()
+                .flatMap(exists -> Mono.<T>error(exists
+                        ? new PreconditionFailedException("User", id, expectedVersion)
+                        : new ResourceNotFoundException("User", "id", id)));
+    }
+
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("body", "request body is required")))
+                .doOnNext(this::validate);
+    }
+
+    /**
+     * Applies the DTOs' bean validation constraints, reported per property path like
+     * the servlet side's field errors.
+     */
+    private void validate(Object body) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(body);
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> errors = new TreeMap<>();
+        violations.forEach(violation -> errors
+                .computeIfAbsent(violation.getPropertyPath().toString(), key -> new ArrayList<>())
+                .add(violation.getMessage()));
+        throw new RequestValidationException(errors);
+    }
+
+    private void validateSearchTerm(String field, String term) {
+        if (StringUtils.hasText(term) && term.strip().length() < minTermLength) {
+            throw new InvalidRequestException(field, field + " must be at least " + minTermLength + " characters");
+        }
+    }
+
+    private static long id(ServerRequest request) {
+        try {
+            return Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("id", "id must be a number");
+        }
+    }
+
+    /**
+     * page, size and sort parameters with the defaults of UserController's @PageableDefault.
+     */
+    static Pageable pageable(ServerRequest request) {
+        int page = Math.max(intParam(request, "page", 0), 0);
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        size = size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Sort sort = Sort.unsorted();
+        for (String value : request.queryParams().getOrDefault("sort", List.of())) {
+            sort = sort.and(parseSort(value));
+        }
+        return PageRequest.of(page, size, sort.isSorted() ? sort : Sort.by("id").ascending());
+    }
+
+    /**
+     * "name", "name,desc" or "name,email,asc", as accepted by Spring Data web.
+     */
+    private static Sort parseSort(String value) {
+        List<String> parts = new ArrayList<>(Arrays.asList(value.split(",")));
+        Sort.Direction direction = Sort.Direction.fromOptionalString(parts.get(parts.size() - 1).trim())
+                .orElse(null);
+        if (direction != null) {
+            parts.remove(parts.size() - 1);
+        }
+
+        List<Sort.Order> orders = parts.stream()
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(property -> new Sort.Order(direction == null ? Sort.Direction.ASC : direction, property))
+                .toList();
+        return Sort.by(orders);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (!StringUtils.hasText(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException(name, name + " must be a number");
+        }
+    }
+
+    private static String csvLine(UserResponse user) {
+        return user.getId() + "," + csvValue(user.getName()) + "," + csvValue(user.getEmail()) + "\n";
+    }
+
+    private static String csvValue(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.bintang.usermanagement.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes of UserController's /api/users contract. Literal paths come before /{id}.
+ * Cursor paging ({@code after}) and CSV import are only served by the servlet application.
+ */
+@Configuration
+public class UserRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler handler, ReactiveErrorHandler errorHandler) {
+        return RouterFunctions.route()
+                .POST("/api/users/batch", handler::createAll)
+                .GET("/api/users/export", handler::export)
+                .GET("/api/users/search", handler::search)
+                .GET("/api/users/{id}", handler::getById)
+                .PUT("/api/users/{id}", handler::update)
+                .DELETE("/api/users/{id}", handler::delete)
+                .POST("/api/users", handler::create)
+                .GET("/api/users", handler::getAll)
+                // defer so that parameter errors thrown while building the response are mapped too
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(ex -> errorHandler.handle(ex, request)))
+                .build();
+    }
+}
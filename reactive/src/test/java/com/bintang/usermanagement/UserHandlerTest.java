@@ -0,0 +1,163 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.reactive.ReactiveErrorHandler;
+import com.bintang.usermanagement.reactive.ReactiveUserRepository;
+import com.bintang.usermanagement.reactive.UserHandler;
+import com.bintang.usermanagement.reactive.UserRouter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserHandlerTest {
+
+    private ReactiveUserRepository userRepository;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(ReactiveUserRepository.class);
+        UserHandler handler = new UserHandler(
+                userRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                3);
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new UserRouter().userRoutes(handler, new ReactiveErrorHandler()))
+                .build();
+    }
+
+    @Test
+    void createUser_success() {
+        when(userRepository.insert("Bintang", "bintang@mail.com"))
+                .thenReturn(Mono.just(user(1L, 0L)));
+
+        webTestClient.post().uri("/api/users")
+                .bodyValue(CreateUserRequest.builder().name("Bintang").email("bintang@mail.com").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SUCCESS")
+                .jsonPath("$.message").isEqualTo("User created successfully")
+                .jsonPath("$.data.id").isEqualTo(1);
+    }
+
+    @Test
+    void createUser_validationError() {
+        webTestClient.post().uri("/api/users")
+                .bodyValue(CreateUserRequest.builder().name("").email("not-an-email").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.path").isEqualTo("/api/users")
+                .jsonPath("$.errors.name").exists()
+                .jsonPath("$.errors.email").exists();
+
+        verify(userRepository, never()).insert(any(), any());
+    }
+
+    @Test
+    void createUser_duplicateEmail() {
+        when(userRepository.insert(any(), any())).thenReturn(Mono.error(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"ux_users_email_active\"")));
+
+        webTestClient.post().uri("/api/users")
+                .bodyValue(CreateUserRequest.builder().name("Bintang").email("bintang@mail.com").build())
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Duplicate resource")
+                .jsonPath("$.errors.email[0]").isEqualTo("email already exists");
+    }
+
+    @Test
+    void getUserById_notFound() {
+        when(userRepository.findById(99L)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/users/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Resource not found");
+    }
+
+    @Test
+    void getUserById_ifNoneMatch_notModified() {
+        when(userRepository.findVersionById(1L)).thenReturn(Mono.just(3L));
+
+        webTestClient.get().uri("/api/users/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getAll_countNone_skipsCount() {
+        when(userRepository.findPage(isNull(), isNull(), any(Pageable.class), eq(3)))
+                .thenReturn(Flux.just(user(1L, 0L), user(2L, 0L), user(3L, 0L)));
+
+        webTestClient.get().uri("/api/users?size=2&count=none")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.content.length()").isEqualTo(2)
+                .jsonPath("$.data.last").isEqualTo(false);
+
+        verify(userRepository, never()).count(any(), any());
+    }
+
+    @Test
+    void search_termTooShort() {
+        webTestClient.get().uri("/api/users/search?name=ab")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.name[0]").isEqualTo("name must be at least 3 characters");
+    }
+
+    @Test
+    void updateUser_staleIfMatch() {
+        when(userRepository.update(1L, "Bintang", "bintang@mail.com", 2L)).thenReturn(Mono.empty());
+        when(userRepository.findVersionById(1L)).thenReturn(Mono.just(5L));
+
+        webTestClient.put().uri("/api/users/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .bodyValue(UpdateUserRequest.builder().name("Bintang").email("bintang@mail.com").build())
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Precondition failed");
+    }
+
+    private static UserResponse user(Long id, Long version) {
+        return UserResponse.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@mail.com")
+                .version(version)
+                .build();
+    }
+}
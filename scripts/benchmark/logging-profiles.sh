@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Request throughput with the default (dev) logging setup versus the prod profile.
+# Both runs keep the profile's own logging (-Dloadtest.keep-logging=true) and use the
+# same load-test settings; extra arguments are passed through to Maven.
+#
+#   scripts/benchmark/logging-profiles.sh -Dloadtest.concurrency=100 -Dloadtest.duration=PT1M
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+mkdir -p target
+
+# Budgets are disabled: the dev run is expected to be slow.
+common=(-B -Pload-test verify -Dloadtest.keep-logging=true
+        -Dloadtest.budget.p95= -Dloadtest.budget.p99= "$@")
+
+mvn "${common[@]}" -Dloadtest.report=target/load-test/logging-dev.json \
+    -Dspring.profiles.active=default > target/logging-dev.log 2>&1
+mvn "${common[@]}" -Dloadtest.report=target/load-test/logging-prod.json \
+    -Dspring.profiles.active=prod > target/logging-prod.log 2>&1
+
+for profile in dev prod; do
+  echo "== ${profile}"
+  grep -A6 '^endpoint' "target/logging-${profile}.log" || true
+done
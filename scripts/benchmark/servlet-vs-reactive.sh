@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Same load test against the servlet application (port 8080) and the reactive module
+# (port 8081), both on the database configured by DB_URL/R2DBC_URL, DB_USERNAME and
+# DB_PASSWORD. The servlet application starts first so Flyway owns the schema.
+# Extra arguments are passed through to Maven.
+#
+#   scripts/benchmark/servlet-vs-reactive.sh -Dloadtest.concurrency=500 -Dloadtest.duration=PT1M
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+mkdir -p target
+
+mvn -B -q -DskipTests package
+(cd reactive && mvn -B -q -DskipTests package)
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null || true' EXIT
+
+wait_for() {
+  for _ in $(seq 1 60); do
+    curl -fs "$1/actuator/health" > /dev/null && return 0
+    sleep 1
+  done
+  echo "$1 did not become healthy" >&2
+  exit 1
+}
+
+java -jar target/springboot-user-management-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod \
+    > target/servlet-app.log 2>&1 &
+pids+=($!)
+wait_for http://localhost:8080
+
+java -jar reactive/target/springboot-user-management-reactive-0.0.1-SNAPSHOT.jar \
+    > target/reactive-app.log 2>&1 &
+pids+=($!)
+wait_for http://localhost:8081
+
+# Budgets are disabled: this compares the stacks rather than gating either.
+common=(-B -Pload-test verify -Dloadtest.budget.p95= -Dloadtest.budget.p99= "$@")
+
+mvn "${common[@]}" -Dloadtest.base-url=http://localhost:8080 \
+    -Dloadtest.report=target/load-test/servlet.json > target/load-servlet.log 2>&1
+mvn "${common[@]}" -Dloadtest.base-url=http://localhost:8081 \
+    -Dloadtest.report=target/load-test/reactive.json > target/load-reactive.log 2>&1
+
+for stack in servlet reactive; do
+  echo "== ${stack}"
+  grep -A6 '^endpoint' "target/load-${stack}.log" || true
+done
@@ -0,0 +1,65 @@
+package com.bintang.usermanagement.benchmark;
+
+import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of the list/search response envelope, with and without the
+ * indent-output setting from application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    @Param({"true", "false"})
+    public boolean indentOutput;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<UserResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(indentOutput ? new Object[]{SerializationFeature.INDENT_OUTPUT} : new Object[0])
+                .build();
+
+        List<UserResponse> users = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> UserResponse.builder()
+                        .id(id)
+                        .name("User " + id)
+                        .email("user" + id + "@mail.com")
+                        .build())
+                .toList();
+
+        Page<UserResponse> page = new PageImpl<>(users, PageRequest.of(0, pageSize, Sort.by("id")), 1_000_000);
+        response = ApiResponse.success("Users retrieved successfully", page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bintang.usermanagement.benchmark;
+
+import com.bintang.usermanagement.SpringBootUserManagementApplication;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.specification.UserSpecification;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One list page read as managed User entities and mapped, as getAll and search did before,
+ * against the same page selected straight into UserResponse. Both run in a read-only
+ * transaction on an embedded PostgreSQL seeded with 10,000 users. Compare gc.alloc.rate.norm
+ * (bytes per page) from the gc profiler the benchmark profile enables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityVsProjectionBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private static final String SEED = """
+            INSERT INTO users (id, name, email)
+            SELECT g, 'User ' || g, 'user' || g || '@mail.com'
+            FROM generate_series(1, ?) AS g
+            """;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+    private final Specification<User> spec = UserSpecification.filter(null, null);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(SpringBootUserManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--app.users.archive.enabled=false",
+                        "--app.users.changes.enabled=false",
+                        "--app.users.suggest.enabled=false");
+
+        context.getBean(JdbcTemplate.class).update(SEED, USERS);
+        userRepository = context.getBean(UserRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Page<UserResponse> entityPage() {
+        return readOnly.execute(status -> userRepository.findAll(spec, page()).map(user -> UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build()));
+    }
+
+    @Benchmark
+    public Page<UserResponse> projectedPage() {
+        return readOnly.execute(status -> userRepository.findAllProjected(spec, page()));
+    }
+
+    private Pageable page() {
+        int pages = USERS / pageSize;
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(pages), pageSize, Sort.by("id"));
+    }
+}
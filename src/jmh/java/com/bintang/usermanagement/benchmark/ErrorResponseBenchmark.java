@@ -0,0 +1,51 @@
+package com.bintang.usermanagement.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bintang.usermanagement.dto.response.ErrorResponse;
+import com.bintang.usermanagement.exception.GlobalExceptionHandler;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error envelope construction in GlobalExceptionHandler, including exception creation
+ * and the WARN log line each handled error emits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    @Param({"OFF", "WARN"})
+    public String handlerLogLevel;
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.toLevel(handlerLogLevel));
+        // keep WARN output from flooding the benchmark console
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).detachAndStopAllAppenders();
+
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/users/42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> resourceNotFound() {
+        return handler.handleResourceNotFound(new ResourceNotFoundException("User", "id", 42L), request);
+    }
+}
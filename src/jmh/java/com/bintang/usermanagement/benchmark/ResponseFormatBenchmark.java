@@ -0,0 +1,98 @@
+package com.bintang.usermanagement.benchmark;
+
+import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.PageResponse;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire of the list/search envelope per response format:
+ * the former PageImpl body against PageResponse, as indented JSON, JSON, Smile and CBOR,
+ * with and without gzip. JMH only measures time, so each trial prints its body size as a
+ * "[bytes]" line in the run output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    @Param({"json-indent", "json", "smile", "cbor"})
+    public String format;
+
+    @Param({"page", "trimmed"})
+    public String shape;
+
+    @Param({"10", "200"})
+    public int pageSize;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectWriter writer;
+    private ApiResponse<?> response;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = switch (format) {
+            case "json-indent" -> objectMapper.writer(SerializationFeature.INDENT_OUTPUT);
+            case "json" -> objectMapper.writer();
+            case "smile" -> objectMapper.copyWith(new SmileFactory()).writer();
+            case "cbor" -> objectMapper.copyWith(new CBORFactory()).writer();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        List<UserResponse> users = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> UserResponse.builder()
+                        .id(id)
+                        .name("User " + id)
+                        .email("user" + id + "@mail.com")
+                        .version(0L)
+                        .build())
+                .toList();
+
+        Page<UserResponse> page = new PageImpl<>(users, PageRequest.of(0, pageSize, Sort.by("id")), 1_000_000);
+        response = ApiResponse.success("Users retrieved successfully",
+                shape.equals("page") ? page : PageResponse.of(page));
+
+        System.out.printf("%n[bytes] format=%s shape=%s pageSize=%d gzip=%s bytes=%d%n",
+                format, shape, pageSize, gzip, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (!gzip) {
+            return writer.writeValueAsBytes(response);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, response);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package com.bintang.usermanagement.benchmark;
+
+import com.bintang.usermanagement.service.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 type-ahead lookups on the in-memory prefix index, loaded with synthetic users
+ * (two-word names, about 25-character emails). Prints the index's memory per user once loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestIndexBenchmark {
+
+    private static final String[] FIRST = {"anna", "bintang", "carlos", "dewi", "eko", "fatima", "gita", "hiro"};
+    private static final String[] LAST = {"lee", "mada", "santos", "putri", "wijaya", "khan", "sari", "tanaka"};
+    private static final String[] PREFIXES = {"a", "bi", "car", "wij", "tan", "gita.k", "user12"};
+
+    @Param({"100000", "1000000"})
+    public int users;
+
+    private PrefixIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new PrefixIndex();
+        for (long id = 1; id <= users; id++) {
+            String first = FIRST[random.nextInt(FIRST.length)];
+            String last = LAST[random.nextInt(LAST.length)];
+            index.put(id, capitalize(first) + " " + capitalize(last), first + "." + last + id + "@mail.com");
+        }
+        System.out.printf("%n[memory] users=%d bytes=%d bytesPerUser=%.1f%n",
+                index.size(), index.memoryBytes(), (double) index.memoryBytes() / index.size());
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Suggestion> suggestTop10() {
+        return index.suggest(PREFIXES[ThreadLocalRandom.current().nextInt(PREFIXES.length)], 10);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to response mapping done for every user returned by the service.
+ * Lives in the service package because mapToResponse is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMappingBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(42L)
+                .name("Bintang Mada")
+                .email("bintang.mada@mail.com")
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse mapToResponse() {
+        return UserServiceImpl.mapToResponse(user);
+    }
+}
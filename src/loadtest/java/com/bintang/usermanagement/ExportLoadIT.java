@@ -0,0 +1,233 @@
+package com.bintang.usermanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streaming export of a large table under a capped heap. Runs only with the load-test profile:
+ * <pre>
+ *   mvn -Pload-test verify -Dit.test=ExportLoadIT
+ *   mvn -Pload-test verify -Dit.test=ExportLoadIT -Dloadtest.export.users=5000000 -Dloadtest.export.heap=48m
+ * </pre>
+ * An embedded PostgreSQL is migrated and seeded with loadtest.export.users synthetic users
+ * (default 1M, 5% soft-deleted). The application is started in its own JVM with
+ * -Xmx{loadtest.export.heap} (default 64m) and -XX:+ExitOnOutOfMemoryError, so anything that
+ * buffers the table kills it mid-stream. The test reads GET /api/users/export to the end,
+ * polling heap usage from the metrics endpoint meanwhile; the build fails unless every live user
+ * arrives and the application is still up. Heap figures are printed and written to
+ * target/load-test/export-report.json, the application log to target/load-test/export-app.log.
+ */
+class ExportLoadIT {
+
+    private static final String SEED = """
+            INSERT INTO users (id, name, email, is_deleted, deleted_at)
+            SELECT g,
+                   'Export User ' || g,
+                   'export' || g || '@mail.com',
+                   g % 20 = 0,
+                   CASE WHEN g % 20 = 0 THEN now() END
+            FROM generate_series(1, ?) AS g
+            """;
+
+    private static final String HEAP_USED = "/actuator/metrics/jvm.memory.used?tag=area:heap";
+
+    private static final String LIVE_DATA = "/actuator/metrics/jvm.gc.live.data.size";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+
+    private static int users;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+
+        FluentConfiguration flyway = Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration");
+        // as spring.flyway.postgresql.transactional-lock=false: the CONCURRENTLY migrations hang otherwise
+        flyway.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class).setTransactionalLock(false);
+        flyway.load().migrate();
+
+        users = Integer.getInteger("loadtest.export.users", 1_000_000);
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement seed = connection.prepareStatement(SEED)) {
+            seed.setInt(1, users);
+            seed.executeUpdate();
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void export_streamsEveryUserWithinACappedHeap() throws Exception {
+        String heap = System.getProperty("loadtest.export.heap", "64m");
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"))
+                .resolveSibling("export-report.json");
+        Files.createDirectories(reportFile.getParent());
+
+        int port = freePort();
+        String baseUrl = "http://localhost:" + port;
+        Process application = startApplication(port, heap, reportFile.resolveSibling("export-app.log"));
+        try {
+            awaitHealthy(baseUrl, application);
+
+            AtomicLong maxHeapUsed = new AtomicLong();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> maxHeapUsed.accumulateAndGet(metric(baseUrl + HEAP_USED), Math::max),
+                    0, 200, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            long lines;
+            try {
+                lines = exportedLines(baseUrl);
+            } finally {
+                sampler.shutdownNow();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(application.isAlive()).as("application survived the export").isTrue();
+            long liveData = metric(baseUrl + LIVE_DATA);
+            int expected = users - users / 20;
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("users", users);
+            report.put("exported", lines);
+            report.put("heapLimit", heap);
+            report.put("maxHeapUsedBytes", maxHeapUsed.get());
+            report.put("liveDataBytes", liveData);
+            report.put("seconds", elapsed.toMillis() / 1000.0);
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+            System.out.printf("%nexported %d of %d users in %.1f s with -Xmx%s: max heap used %.1f MB, live data %.1f MB%n",
+                    lines, expected, elapsed.toMillis() / 1000.0, heap,
+                    maxHeapUsed.get() / 1048576.0, liveData / 1048576.0);
+
+            assertThat(lines).isEqualTo(expected);
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process startApplication(int port, String heap, Path log) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+
+        return new ProcessBuilder(List.of(
+                java,
+                "-Xmx" + heap,
+                "-XX:+ExitOnOutOfMemoryError",
+                "-cp", classpath,
+                SpringBootUserManagementApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                // the in-memory suggest index holds every user; only the export is measured here
+                "--app.users.suggest.enabled=false"))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitHealthy(String baseUrl, Process application) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(application.isAlive()).as("application started, see export-app.log").isTrue();
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (Exception e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("application did not become healthy within 2 minutes");
+    }
+
+    private long exportedLines(String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/export?format=ndjson"))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Current value of a byte gauge from the metrics endpoint, 0 when it cannot be read.
+     */
+    private long metric(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+            JsonNode body = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            return body.path("measurements").path(0).path("value").asLong();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.bintang.usermanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV import throughput against an embedded PostgreSQL. Runs only with the load-test profile:
+ * <pre>
+ *   mvn -Pload-test verify -Dit.test=ImportLoadIT
+ *   mvn -Pload-test verify -Dit.test=ImportLoadIT -Dloadtest.import.rows=5000000
+ * </pre>
+ * A gzipped CSV of loadtest.import.rows rows (default 1M) is uploaded to POST /api/users/import
+ * and the job is polled until it finishes. Every 100th row repeats the previous email and every
+ * 1000th row (offset 550) has an invalid one, so the job validates, stages, de-duplicates and
+ * merges as it would in production. The build fails unless every valid, distinct row ends up in
+ * users with a CREATED change feed row. The job's rows/sec and the wall time from upload to
+ * completion are printed and written to target/load-test/import-report.json.
+ */
+class ImportLoadIT {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static String baseUrl;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = SpringApplication.run(SpringBootUserManagementApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void import_mergesEveryValidDistinctRow() throws Exception {
+        int rows = Integer.getInteger("loadtest.import.rows", 1_000_000);
+        Path csv = writeCsv(rows);
+        int invalid = (rows + 450) / 1000;
+        int duplicate = rows / 100;
+        int expected = rows - invalid - duplicate;
+
+        JsonNode job;
+        long start = System.nanoTime();
+        try {
+            HttpRequest upload = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/import"))
+                    .header("Content-Type", "text/csv")
+                    .header("Content-Encoding", "gzip")
+                    .POST(HttpRequest.BodyPublishers.ofFile(csv))
+                    .build();
+            HttpResponse<String> accepted = httpClient.send(upload, HttpResponse.BodyHandlers.ofString());
+            assertThat(accepted.statusCode()).isEqualTo(202);
+
+            job = awaitJob(objectMapper.readTree(accepted.body()).path("data").path("id").asText());
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long users = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        long changes = jdbcTemplate.queryForObject(
+                "select count(*) from user_outbox where change_type = 'CREATED'", Long.class);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", rows);
+        report.put("rowsInserted", job.path("rowsInserted").asLong());
+        report.put("rowsDuplicate", job.path("rowsDuplicate").asLong());
+        report.put("rowsInvalid", job.path("rowsInvalid").asLong());
+        report.put("rowsPerSecond", job.path("rowsPerSecond").asDouble());
+        report.put("seconds", elapsed.toMillis() / 1000.0);
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"))
+                .resolveSibling("import-report.json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        System.out.printf("%nimported %d of %d rows: %.0f rows/s in the job, %.1f s from upload to completion%n",
+                job.path("rowsInserted").asLong(), rows, job.path("rowsPerSecond").asDouble(),
+                elapsed.toMillis() / 1000.0);
+
+        assertThat(job.path("status").asText()).as(job.path("error").asText()).isEqualTo("COMPLETED");
+        assertThat(job.path("rowsInvalid").asLong()).isEqualTo(invalid);
+        assertThat(job.path("rowsDuplicate").asLong()).isEqualTo(duplicate);
+        assertThat(job.path("rowsInserted").asLong()).isEqualTo(expected);
+        assertThat(users).isEqualTo(expected);
+        assertThat(changes).isEqualTo(expected);
+    }
+
+    private static Path writeCsv(int rows) throws Exception {
+        Path csv = Files.createTempFile("import-load", ".csv.gz");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(csv), 64 * 1024), StandardCharsets.UTF_8))) {
+            out.write("name,email\n");
+            for (int i = 1; i <= rows; i++) {
+                String email = i % 1000 == 550 ? "not-an-email"
+                        : "import" + (i % 100 == 0 ? i - 1 : i) + "@mail.com";
+                out.write("Import User " + i + "," + email + "\n");
+            }
+        }
+        return csv;
+    }
+
+    private JsonNode awaitJob(String jobId) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofMinutes(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpRequest poll = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/import/" + jobId)).GET().build();
+            JsonNode job = objectMapper.readTree(httpClient.send(poll, HttpResponse.BodyHandlers.ofString()).body())
+                    .path("data");
+            String status = job.path("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("import job " + jobId + " did not finish within 30 minutes");
+    }
+}
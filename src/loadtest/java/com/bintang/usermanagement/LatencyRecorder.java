@@ -0,0 +1,42 @@
+package com.bintang.usermanagement;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one endpoint or run. Requests take milliseconds, so a lock per sample is noise.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1 << 16];
+    int count;
+    long errors;
+    long elapsedNanos;
+    private boolean sorted;
+
+    synchronized void record(long nanos, boolean expected) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        sorted = false;
+        if (!expected) {
+            errors++;
+        }
+    }
+
+    synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return samples[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    synchronized double throughput() {
+        return elapsedNanos == 0 ? 0 : count / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,272 @@
+package com.bintang.usermanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform against virtual threads at 2000 concurrent clients. Runs only with the load-test
+ * profile on a Java 21+ runtime:
+ * <pre>
+ *   mvn -Pload-test verify -Dit.test=ThreadingLoadIT
+ *   mvn -Pload-test verify -Dit.test=ThreadingLoadIT -Dloadtest.threading.clients=5000
+ * </pre>
+ * The application is started twice against one embedded PostgreSQL, first on platform threads,
+ * then with the virtual-threads profile. Both runs get the same read-heavy mix, 80 getById and
+ * 20 search, from loadtest.threading.clients clients (default 2000). Throughput, p50/p95/p99
+ * and errors per mode are printed and written to target/load-test/threading-report.json.
+ * <p>
+ * The virtual-thread run is recorded with JFR, and every jdk.VirtualThreadPinned event fails
+ * the build with its stack, so blocking I/O inside a synchronized block cannot slip in unnoticed.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadingLoadIT {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void virtualThreads_againstPlatformThreads() throws Exception {
+        int clients = Integer.getInteger("loadtest.threading.clients", 2000);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        List<String> pinned = new ArrayList<>();
+
+        try (ConfigurableApplicationContext platform = start()) {
+            String baseUrl = baseUrl(platform);
+            seed(baseUrl, Integer.getInteger("loadtest.seed-users", 10_000));
+            run(baseUrl, clients, warmup);
+            recorders.put("platform", run(baseUrl, clients, duration));
+        }
+
+        try (ConfigurableApplicationContext virtual = start("--spring.profiles.active=virtual-threads");
+             Recording recording = new Recording()) {
+            String baseUrl = baseUrl(virtual);
+            run(baseUrl, clients, warmup);
+
+            recording.enable(PINNED_EVENT).withStackTrace();
+            recording.start();
+            recorders.put("virtual", run(baseUrl, clients, duration));
+            recording.stop();
+            pinned.addAll(pinnedStacks(recording));
+        }
+
+        Map<String, Object> report = report(recorders, clients, duration);
+        report.put("pinnedEvents", pinned.size());
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"))
+                .resolveSibling("threading-report.json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        recorders.forEach((mode, recorder) ->
+                assertThat((double) recorder.errors / Math.max(recorder.count, 1))
+                        .as("%s error rate", mode)
+                        .isLessThanOrEqualTo(maxErrorRate));
+        assertThat(pinned).as("carrier threads pinned by virtual threads").isEmpty();
+    }
+
+    private static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        args.addAll(List.of(extraArgs));
+        return SpringApplication.run(SpringBootUserManagementApplication.class, args.toArray(String[]::new));
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private void seed(String baseUrl, int users) throws Exception {
+        int chunk = 1000;
+        for (int offset = 0; offset < users; offset += chunk) {
+            List<Map<String, String>> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(users, offset + chunk); i++) {
+                batch.add(Map.of("name", "Threading User " + i, "email", "threading-" + runId + "-" + i + "@mail.com"));
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("users", batch))))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            for (JsonNode result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.hasNonNull("user")) {
+                    userIds.add(result.path("user").path("id").asLong());
+                }
+            }
+        }
+    }
+
+    private LatencyRecorder run(String baseUrl, int clients, Duration duration) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = get(baseUrl + path());
+                        recorder.record(System.nanoTime() - start, status == 200);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        recorder.elapsedNanos = duration.toNanos();
+        return recorder;
+    }
+
+    private String path() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < 20) {
+            return "/api/users/search?name=" + random.nextInt(100, 1000) + "&size=20";
+        }
+        return "/api/users/" + userIds.get(random.nextInt(userIds.size()));
+    }
+
+    private int get(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Top frames of every pinned virtual thread in the recording, one line per event.
+     */
+    private static List<String> pinnedStacks(Recording recording) throws Exception {
+        Path file = Files.createTempFile("threading-load", ".jfr");
+        try {
+            recording.dump(file);
+            List<String> stacks = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (PINNED_EVENT.equals(event.getEventType().getName()) && event.getStackTrace() != null) {
+                    stacks.add(event.getDuration().toMillis() + " ms at " + event.getStackTrace().getFrames().stream()
+                            .limit(8)
+                            .map(ThreadingLoadIT::frame)
+                            .collect(Collectors.joining(" < ")));
+                }
+            }
+            return stacks;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static Map<String, Object> report(Map<String, LatencyRecorder> recorders, int clients, Duration duration) {
+        Map<String, Object> modes = new LinkedHashMap<>();
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %8s%n",
+                "threads", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+
+        recorders.forEach((mode, recorder) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", recorder.count);
+            stats.put("errors", recorder.errors);
+            stats.put("throughput", recorder.throughput());
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + (int) percentile, recorder.percentileMillis(percentile));
+            }
+            modes.put(mode, stats);
+
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %8d%n",
+                    mode, recorder.count, recorder.throughput(),
+                    recorder.percentileMillis(50), recorder.percentileMillis(95), recorder.percentileMillis(99),
+                    recorder.errors);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", clients);
+        report.put("duration", duration.toString());
+        report.put("modes", modes);
+        return report;
+    }
+}
@@ -0,0 +1,383 @@
+package com.bintang.usermanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the user API. Runs only with the load-test profile:
+ * <pre>
+ *   mvn -Pload-test verify
+ *   mvn -Pload-test verify -Dloadtest.concurrency=200 -Dloadtest.duration=PT2M
+ *   mvn -Pload-test verify -Dspring.profiles.active=virtual-threads   (Java 21+)
+ *   mvn -Pload-test verify -Dloadtest.base-url=http://staging:8080   (external target)
+ *   mvn -Pload-test verify -Dloadtest.keep-logging=true -Dspring.profiles.active=prod
+ *   mvn -Pload-test verify -Dloadtest.mix.create=0 -Dloadtest.mix.getById=0 -Dloadtest.mix.search=0
+ *       -Dloadtest.mix.update=0 -Dloadtest.mix.delete=0 -Dloadtest.mix.getByIds=50 -Dloadtest.mix.fanOut=50
+ * </pre>
+ * Without a base URL the application is started in-process against an embedded PostgreSQL.
+ * Each worker loops over a weighted mix of create, getById, search, update and delete;
+ * per-endpoint p50/p95/p99 and throughput are printed and written to target/load-test/report.json.
+ * getByIds and fanOut resolve loadtest.batch-ids random ids with one batch call or with parallel
+ * getById calls, so the two can be compared.
+ * Budgets are read from loadtest.budget.[endpoint.]p50|p95|p99 (milliseconds) and fail the build
+ * when exceeded, as does an unexpected-status rate above loadtest.max-error-rate.
+ */
+class UserApiLoadIT {
+
+    enum Endpoint {
+        CREATE("create", 201, 409),
+        GET_BY_ID("getById", 200, 404),
+        SEARCH("search", 200),
+        UPDATE("update", 200, 404, 409),
+        DELETE("delete", 200, 404),
+        GET_BY_IDS("getByIds", 200),
+        FAN_OUT("fanOut", 200, 404);
+
+        private final String key;
+        private final Set<Integer> expectedStatuses;
+
+        Endpoint(String key, Integer... expectedStatuses) {
+            this.key = key;
+            this.expectedStatuses = Set.of(expectedStatuses);
+        }
+    }
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static String baseUrl;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final List<Long> userIds = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        baseUrl = System.getProperty("loadtest.base-url");
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            return;
+        }
+
+        postgres = EmbeddedPostgres.builder().start();
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres"));
+        if (!Boolean.getBoolean("loadtest.keep-logging")) {
+            // measure the API, not the console; -Dloadtest.keep-logging=true keeps the profile's logging
+            args.add("--spring.jpa.show-sql=false");
+            args.add("--logging.level.org.hibernate.SQL=WARN");
+            args.add("--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        }
+        context = SpringApplication.run(SpringBootUserManagementApplication.class, args.toArray(String[]::new));
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void mixedWorkload_staysWithinLatencyBudgets() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+        seed(Integer.getInteger("loadtest.seed-users", 10_000));
+
+        run(concurrency, warmup);
+        Map<Endpoint, LatencyRecorder> recorders = run(concurrency, duration);
+
+        Map<String, Object> report = report(recorders, concurrency, duration);
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"));
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        assertThat(budgetViolations(recorders)).isEmpty();
+    }
+
+    private void seed(int users) throws Exception {
+        int chunk = 1000;
+        for (int offset = 0; offset < users; offset += chunk) {
+            List<Map<String, String>> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(users, offset + chunk); i++) {
+                batch.add(newUser());
+            }
+
+            HttpResponse<String> response = send("POST", "/api/users/batch", Map.of("users", batch));
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            for (JsonNode result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.hasNonNull("user")) {
+                    userIds.add(result.path("user").path("id").asLong());
+                }
+            }
+        }
+    }
+
+    private Map<Endpoint, LatencyRecorder> run(int concurrency, Duration duration) throws Exception {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+
+        int[] weights = weights();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = pick(weights);
+                        long start = System.nanoTime();
+                        int status = execute(endpoint);
+                        recorders.get(endpoint).record(System.nanoTime() - start,
+                                endpoint.expectedStatuses.contains(status));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        recorders.values().forEach(recorder -> recorder.elapsedNanos = duration.toNanos());
+        return recorders;
+    }
+
+    private int execute(Endpoint endpoint) {
+        try {
+            return switch (endpoint) {
+                case CREATE -> {
+                    HttpResponse<String> response = send("POST", "/api/users", newUser());
+                    if (response.statusCode() == 201) {
+                        addUserId(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+                    }
+                    yield response.statusCode();
+                }
+                case GET_BY_ID -> send("GET", "/api/users/" + randomUserId(), null).statusCode();
+                case SEARCH -> send("GET", "/api/users/search?name="
+                        + ThreadLocalRandom.current().nextInt(100, 1000) + "&size=20", null).statusCode();
+                case UPDATE -> send("PUT", "/api/users/" + randomUserId(), newUser()).statusCode();
+                case DELETE -> {
+                    long id = randomUserId();
+                    removeUserId(id);
+                    yield send("DELETE", "/api/users/" + id, null).statusCode();
+                }
+                case GET_BY_IDS -> send("GET", "/api/users?ids=" + String.join(",", randomUserIds()), null)
+                        .statusCode();
+                case FAN_OUT -> fanOut(randomUserIds());
+            };
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * One getById per id, all in flight at once, the way a client without the batch endpoint
+     * would resolve a list of ids. Returns the first non-200 status, or 200.
+     */
+    private int fanOut(List<String> ids) {
+        List<CompletableFuture<HttpResponse<String>>> calls = ids.stream()
+                .map(id -> httpClient.sendAsync(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + id))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString()))
+                .toList();
+
+        int status = 200;
+        for (CompletableFuture<HttpResponse<String>> call : calls) {
+            int callStatus = call.join().statusCode();
+            if (status == 200) {
+                status = callStatus;
+            }
+        }
+        return status;
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, String> newUser() {
+        long n = emailSequence.incrementAndGet();
+        return Map.of(
+                "name", "Load User " + n,
+                "email", "load-" + runId + "-" + n + "@mail.com");
+    }
+
+    private long randomUserId() {
+        synchronized (userIds) {
+            return userIds.isEmpty() ? 0L : userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        }
+    }
+
+    private List<String> randomUserIds() {
+        int batchIds = Integer.getInteger("loadtest.batch-ids", 20);
+        List<String> ids = new ArrayList<>(batchIds);
+        for (int i = 0; i < batchIds; i++) {
+            ids.add(Long.toString(randomUserId()));
+        }
+        return ids;
+    }
+
+    private void addUserId(long id) {
+        synchronized (userIds) {
+            userIds.add(id);
+        }
+    }
+
+    private void removeUserId(long id) {
+        synchronized (userIds) {
+            userIds.remove(Long.valueOf(id));
+        }
+    }
+
+    /**
+     * Cumulative weights, default read-heavy: 10 create, 50 getById, 20 search, 15 update, 5 delete.
+     * getByIds and fanOut are off unless given a weight.
+     */
+    private static int[] weights() {
+        int[] defaults = {10, 50, 20, 15, 5, 0, 0};
+        int[] cumulative = new int[defaults.length];
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            total += Integer.getInteger("loadtest.mix." + endpoint.key, defaults[endpoint.ordinal()]);
+            cumulative[endpoint.ordinal()] = total;
+        }
+        return cumulative;
+    }
+
+    private static Endpoint pick(int[] cumulativeWeights) {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return Endpoint.values()[i];
+            }
+        }
+        return Endpoint.GET_BY_ID;
+    }
+
+    private static Map<String, Object> report(Map<Endpoint, LatencyRecorder> recorders, int concurrency, Duration duration) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+
+        recorders.forEach((endpoint, recorder) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", recorder.count);
+            stats.put("errors", recorder.errors);
+            stats.put("throughput", recorder.throughput());
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + (int) percentile, recorder.percentileMillis(percentile));
+            }
+            endpoints.put(endpoint.key, stats);
+
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %8d%n",
+                    endpoint.key, recorder.count, recorder.throughput(),
+                    recorder.percentileMillis(50), recorder.percentileMillis(95), recorder.percentileMillis(99),
+                    recorder.errors);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("concurrency", concurrency);
+        report.put("duration", duration.toString());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static List<String> budgetViolations(Map<Endpoint, LatencyRecorder> recorders) {
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        List<String> violations = new ArrayList<>();
+
+        recorders.forEach((endpoint, recorder) -> {
+            for (double percentile : PERCENTILES) {
+                String name = "p" + (int) percentile;
+                String budget = System.getProperty("loadtest.budget." + endpoint.key + "." + name,
+                        System.getProperty("loadtest.budget." + name));
+                if (budget == null || budget.isBlank()) {
+                    continue;
+                }
+
+                double actual = recorder.percentileMillis(percentile);
+                if (actual > Double.parseDouble(budget)) {
+                    violations.add("%s %s %.2f ms exceeds budget of %s ms".formatted(endpoint.key, name, actual, budget));
+                }
+            }
+
+            if (recorder.count > 0 && (double) recorder.errors / recorder.count > maxErrorRate) {
+                violations.add("%s had %d unexpected responses out of %d"
+                        .formatted(endpoint.key, recorder.errors, recorder.count));
+            }
+        });
+        return violations;
+    }
+}
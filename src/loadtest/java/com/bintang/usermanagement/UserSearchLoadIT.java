@@ -0,0 +1,215 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.specification.UserSpecification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Substring search on an embedded PostgreSQL, before and after the pg_trgm GIN indexes.
+ * Runs only with the load-test profile:
+ * <pre>
+ *   mvn -Pload-test verify -Dit.test=UserSearchLoadIT
+ *   mvn -Pload-test verify -Dit.test=UserSearchLoadIT -Dloadtest.search.users=5000000
+ * </pre>
+ * The schema comes from the Flyway migrations and is seeded with loadtest.search.users synthetic
+ * users (default 1M, 5% soft-deleted). Each search is what a default /api/users/search request
+ * runs: the first page by id plus the exact count, with the predicate UserSpecification.filter
+ * generates. Alternating name and email terms are timed first with the indexes, then in a
+ * rolled-back transaction that drops them, which is the plan the search had before. p50/p95 per path are printed and
+ * written to target/load-test/search-report.json; the build fails unless the indexes win.
+ */
+class UserSearchLoadIT {
+
+    private static final String NAME_FILTER = "is_deleted = false AND lower(name) LIKE ? ESCAPE '\\'";
+
+    private static final String EMAIL_FILTER = "is_deleted = false AND lower(email) LIKE ? ESCAPE '\\'";
+
+    private static final String PAGE = "SELECT id, name, email, version FROM users WHERE %s ORDER BY id LIMIT 10";
+
+    private static final String COUNT = "SELECT count(id) FROM users WHERE %s";
+
+    private static final String SEED = """
+            INSERT INTO users (id, name, email, is_deleted, deleted_at)
+            SELECT g,
+                   'User ' || md5(g::text),
+                   'user' || g || '@' || (ARRAY['mail.com', 'example.org', 'corp.io'])[1 + g % 3],
+                   g % 20 = 0,
+                   CASE WHEN g % 20 = 0 THEN now() END
+            FROM generate_series(1, ?) AS g
+            """;
+
+    private static final String DROP_TRIGRAM_INDEXES =
+            "DROP INDEX idx_users_name_trgm_active, idx_users_email_trgm_active";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+
+        FluentConfiguration flyway = Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration");
+        // as spring.flyway.postgresql.transactional-lock=false: the CONCURRENTLY migrations hang otherwise
+        flyway.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class).setTransactionalLock(false);
+        flyway.load().migrate();
+
+        int users = Integer.getInteger("loadtest.search.users", 1_000_000);
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement seed = connection.prepareStatement(SEED);
+             Statement analyze = connection.createStatement()) {
+            seed.setInt(1, users);
+            seed.executeUpdate();
+            analyze.execute("ANALYZE users");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void trigramIndexes_beatTheScanTheyReplaced() throws Exception {
+        int queries = Integer.getInteger("loadtest.search.queries", 200);
+        List<String[]> searches = searches(queries);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            // the count reads every match, so it shows the index; the page may walk the primary key instead
+            assertThat(plan(connection, COUNT.formatted(NAME_FILTER), "a1b2")).contains("idx_users_name_trgm_active");
+            assertThat(plan(connection, COUNT.formatted(EMAIL_FILTER), "user4242")).contains("idx_users_email_trgm_active");
+            double[] indexed = measure(connection, searches);
+
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(DROP_TRIGRAM_INDEXES);
+                assertThat(plan(connection, COUNT.formatted(NAME_FILTER), "a1b2")).doesNotContain("trgm");
+                double[] scanned = measure(connection, searches);
+
+                System.out.printf("%n%-10s %10s %10s %10s%n", "path", "queries", "p50 ms", "p95 ms");
+                print("trigram", indexed);
+                print("scan", scanned);
+                report.put("users", Integer.getInteger("loadtest.search.users", 1_000_000));
+                report.put("trigram", stats(indexed));
+                report.put("scan", stats(scanned));
+
+                assertThat(percentile(indexed, 50)).isLessThan(percentile(scanned, 50));
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"))
+                .resolveSibling("search-report.json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+    }
+
+    /**
+     * Alternating name and email terms, the same for both paths: four hex characters of the
+     * md5 name part, and a user-number prefix of the email.
+     */
+    private static List<String[]> searches(int queries) {
+        Random random = new Random(42);
+        List<String[]> searches = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) {
+            searches.add(i % 2 == 0
+                    ? new String[]{NAME_FILTER, String.format("%04x", random.nextInt(1 << 16))}
+                    : new String[]{EMAIL_FILTER, "user" + (1000 + random.nextInt(9000))});
+        }
+        return searches;
+    }
+
+    /**
+     * Runs every search once unmeasured, then once timed; returns sorted latencies in ms.
+     */
+    private static double[] measure(Connection connection, List<String[]> searches) throws SQLException {
+        for (String[] search : searches) {
+            search(connection, search[0], search[1]);
+        }
+
+        double[] millis = new double[searches.size()];
+        for (int i = 0; i < searches.size(); i++) {
+            long start = System.nanoTime();
+            search(connection, searches.get(i)[0], searches.get(i)[1]);
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static void search(Connection connection, String filter, String term) throws SQLException {
+        execute(connection, PAGE.formatted(filter), term);
+        execute(connection, COUNT.formatted(filter), term);
+    }
+
+    private static void execute(Connection connection, String sql, String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, UserSpecification.containsPattern(term));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+    }
+
+    private static String plan(Connection connection, String sql, String term) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setString(1, UserSpecification.containsPattern(term));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void print(String path, double[] millis) {
+        System.out.printf("%-10s %10d %10.2f %10.2f%n",
+                path, millis.length, percentile(millis, 50), percentile(millis, 95));
+    }
+
+    private static Map<String, Object> stats(double[] millis) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queries", millis.length);
+        stats.put("p50", percentile(millis, 50));
+        stats.put("p95", percentile(millis, 95));
+        return stats;
+    }
+
+    private static double percentile(double[] sortedMillis, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedMillis.length) - 1;
+        return sortedMillis[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,12 @@
+package com.bintang.usermanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Runs @Async work on Spring Boot's auto-configured application task executor.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
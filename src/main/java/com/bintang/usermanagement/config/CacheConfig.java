@@ -0,0 +1,53 @@
+package com.bintang.usermanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits, so a
+     * rolled back update or delete never leaves its result in the cache. {@link UserCache}
+     * drops the puts of lookups that raced a committed write.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.users.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager(UserProperties userProperties) {
+        UserProperties.Cache cache = userProperties.getCache();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache) {
+                return new UserCache(name, nativeCache, isAllowNullValues(), cache.getEvictionFence());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTtl())
+                .recordStats());
+        cacheManager.setCacheNames(List.of(USERS_CACHE));
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.users.cache", name = "enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.bintang.usermanagement.config;
+
+/**
+ * Marks the current request thread as pinned to the primary, so a client that has just
+ * written never reads its own change back from a lagging replica. Work handed to other
+ * threads (async exports, imports) is not pinned.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
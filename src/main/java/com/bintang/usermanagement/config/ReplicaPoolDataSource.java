@@ -0,0 +1,195 @@
+package com.bintang.usermanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing datasource: hands out connections from the healthy
+ * replicas in round-robin order.
+ * <p>
+ * A replica is ejected when it refuses a connection or fails the periodic health check
+ * (connection validity and, on a standby, WAL replay lag), and readmitted once a check
+ * passes again. With no healthy replica, or while the current request is pinned by
+ * {@link ReadYourWrites}, reads go to the primary.
+ */
+@Slf4j
+public class ReplicaPoolDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Replay lag in seconds; 0 when the standby has replayed everything it received, or
+     * on a server that is not a standby at all (e.g. a second independent local instance).
+     */
+    static final String LAG_QUERY = """
+            select coalesce(case
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else extract(epoch from now() - pg_last_xact_replay_timestamp())
+            end, 0)
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReplicaProperties properties;
+    private final Counter primaryReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaPoolDataSource(DataSource primary,
+                                 Map<String, DataSource> replicas,
+                                 ReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.primaryReads = readCounter("primary", meterRegistry);
+
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, readCounter(name, meterRegistry));
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is in rotation, 0 while ejected")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.isPinned() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    eject(replica, ex.getMessage());
+                }
+            }
+        }
+
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica pools use their configured credentials");
+    }
+
+    public void start() {
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Probes every replica once, ejecting failing ones and readmitting recovered ones.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String failure = probe(replica);
+            if (failure != null) {
+                eject(replica, failure);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica '{}' passed its health check, back in rotation", replica.name);
+            }
+        }
+    }
+
+    /**
+     * Returns why the replica is unfit for reads, or null when it is fine.
+     */
+    private String probe(Replica replica) {
+        int timeoutSeconds = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                return "connection is not valid";
+            }
+
+            Duration maxLag = properties.getMaxLag();
+            if (maxLag.isZero()) {
+                return null;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+                    return lagSeconds * 1000 > maxLag.toMillis()
+                            ? "replay lag " + lagSeconds + "s exceeds " + maxLag
+                            : null;
+                }
+            }
+        } catch (SQLException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Ejecting replica '{}' from rotation: {}", replica.name, reason);
+        }
+    }
+
+    private static Counter readCounter(String pool, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+}
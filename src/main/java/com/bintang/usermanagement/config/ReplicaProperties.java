@@ -0,0 +1,55 @@
+package com.bintang.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    /**
+     * Routes read-only transactions to the replicas below. When disabled, every
+     * transaction uses the single spring.datasource pool.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the replicas; one Hikari pool (replica-0, replica-1, ...) per URL.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica credentials; default to spring.datasource.username/password.
+     */
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Kept short so a dead replica costs little before the read falls through to another
+     * replica or the primary.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Replicas replaying WAL further behind than this are ejected until they catch up.
+     * Zero disables the lag check.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * After a write, the same client's reads go to the primary for this long. Zero disables
+     * read-your-writes pinning.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
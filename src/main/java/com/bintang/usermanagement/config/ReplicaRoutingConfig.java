@@ -0,0 +1,104 @@
+package com.bintang.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active with app.datasource.replicas.enabled=true. Read-only transactions
+ * ({@code @Transactional(readOnly = true)}) run on a replica, everything else on the primary.
+ * <p>
+ * The application datasource is a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched at the first statement, after the transaction has marked it
+ * read-only, so the proxy can pick the replica pool for it. Each route is its own Hikari
+ * pool ("primary", "replica-0", ...) and reports hikaricp.* metrics under that pool tag.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaPoolDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                   DataSourceProperties dataSourceProperties,
+                                                   ReplicaProperties replicaProperties,
+                                                   MeterRegistry meterRegistry) {
+        List<String> urls = replicaProperties.getUrls();
+        if (urls.isEmpty()) {
+            log.warn("Replica routing is enabled but app.datasource.replicas.urls is empty; reads use the primary");
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, replicaPool(name, urls.get(i), dataSourceProperties, replicaProperties, meterRegistry));
+        }
+        return new ReplicaPoolDataSource(primaryDataSource, replicas, replicaProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaPoolDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(!replicaProperties.getReadYourWritesWindow().isZero());
+        return registration;
+    }
+
+    private static HikariDataSource replicaPool(String name,
+                                                String url,
+                                                DataSourceProperties primary,
+                                                ReplicaProperties properties,
+                                                MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setUsername(properties.getUsername() != null ? properties.getUsername() : primary.determineUsername());
+        dataSource.setPassword(properties.getPassword() != null ? properties.getPassword() : primary.determinePassword());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // a replica that is down at startup is ejected by the health check instead of failing the application
+        dataSource.setInitializationFailTimeout(-1);
+        // not a bean, so Spring Boot's pool metrics binder never sees it
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
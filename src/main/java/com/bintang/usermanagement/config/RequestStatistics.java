@@ -0,0 +1,69 @@
+package com.bintang.usermanagement.config;
+
+import jakarta.persistence.PostLoad;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Per-request JDBC statement and entity load counters, kept on the request thread.
+ * Work handed to other threads (async exports, imports) is not attributed to the request.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<Counters> CURRENT = new ThreadLocal<>();
+
+    private RequestStatistics() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Counters());
+    }
+
+    public static Counters stop() {
+        Counters counters = CURRENT.get();
+        CURRENT.remove();
+        return counters != null ? counters : new Counters();
+    }
+
+    public static final class Counters {
+
+        private long statements;
+        private long entityLoads;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+    }
+
+    /**
+     * Registered as Hibernate's statement inspector; counts every statement Hibernate prepares.
+     */
+    public static class StatementCounter implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            Counters counters = CURRENT.get();
+            if (counters != null) {
+                counters.statements++;
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * JPA entity listener counting managed entities materialized from a result set.
+     */
+    public static class EntityLoadListener {
+
+        @PostLoad
+        public void onPostLoad(Object entity) {
+            Counters counters = CURRENT.get();
+            if (counters != null) {
+                counters.entityLoads++;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bintang.usermanagement.config;
+
+import com.bintang.usermanagement.service.UserArchiveJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Schedules the user archive job with a fixed delay, so runs never overlap on one instance.
+ * The job pauses between batches, so it gets a scheduler thread of its own instead of holding
+ * up the other scheduled tasks; shutdown interrupts the pause. Disable with USER_ARCHIVE_ENABLED=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.users.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SchedulingConfig implements DisposableBean {
+
+    private final UserArchiveJob userArchiveJob;
+    private final UserProperties userProperties;
+
+    // not a bean: a TaskScheduler bean would become the scheduler of every other job
+    private final ThreadPoolTaskScheduler archiveScheduler = new ThreadPoolTaskScheduler();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startArchiving() {
+        Duration interval = userProperties.getArchive().getInterval();
+        archiveScheduler.setThreadNamePrefix("user-archive-");
+        archiveScheduler.initialize();
+        archiveScheduler.scheduleWithFixedDelay(userArchiveJob::run, Instant.now().plus(interval), interval);
+    }
+
+    @Override
+    public void destroy() {
+        archiveScheduler.shutdown();
+    }
+}
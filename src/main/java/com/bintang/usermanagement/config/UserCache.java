@@ -0,0 +1,70 @@
+package com.bintang.usermanagement.config;
+
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+
+/**
+ * Caffeine cache that keeps a lookup racing a write from caching the state before the write.
+ * <p>
+ * The lookup reads the row, the write commits and evicts or refreshes the entry, and only then
+ * does the lookup's own put land, after its commit. Two rules stop that put:
+ * <ul>
+ *     <li>a put never replaces a user with one of a lower version, so a refreshed entry stays;</li>
+ *     <li>for the eviction fence after an eviction, puts of that key are dropped, so a deleted
+ *     or bulk-changed user is not cached again from a read that began before the write.</li>
+ * </ul>
+ * A lookup still running when the fence has expired can cache the old state until the TTL.
+ */
+class UserCache extends CaffeineCache {
+
+    private final Cache<Object, Boolean> fences;
+
+    UserCache(String name, Cache<Object, Object> cache, boolean allowNullValues, Duration evictionFence) {
+        super(name, cache, allowNullValues);
+        this.fences = Caffeine.newBuilder()
+                .expireAfterWrite(evictionFence)
+                .build();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (fenced(key)) {
+            return;
+        }
+        getNativeCache().asMap().merge(key, toStoreValue(value), UserCache::newer);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return fenced(key) ? null : super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        fences.put(key, Boolean.TRUE);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        fences.put(key, Boolean.TRUE);
+        return super.evictIfPresent(key);
+    }
+
+    private boolean fenced(Object key) {
+        return fences.getIfPresent(key) != null;
+    }
+
+    private static Object newer(Object cached, Object value) {
+        if (cached instanceof UserResponse current && value instanceof UserResponse candidate
+                && current.getVersion() != null && candidate.getVersion() != null
+                && current.getVersion() > candidate.getVersion()) {
+            return cached;
+        }
+        return value;
+    }
+}
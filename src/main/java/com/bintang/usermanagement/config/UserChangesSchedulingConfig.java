@@ -0,0 +1,43 @@
+package com.bintang.usermanagement.config;
+
+import com.bintang.usermanagement.service.UserChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs the user change relay with a fixed delay, so runs never overlap on one instance.
+ * The relay has a scheduler thread of its own: on the shared one it would wait behind the
+ * archive job and the index catch-up. Disable with USER_CHANGES_ENABLED=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.users.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class UserChangesSchedulingConfig implements DisposableBean {
+
+    private final UserChangeFeed userChangeFeed;
+    private final UserProperties userProperties;
+
+    // not a bean: a TaskScheduler bean would become the scheduler of every other job
+    private final ThreadPoolTaskScheduler relayScheduler = new ThreadPoolTaskScheduler();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay() {
+        Duration interval = userProperties.getChanges().getRelayInterval();
+        relayScheduler.setThreadNamePrefix("user-changes-relay-");
+        relayScheduler.initialize();
+        relayScheduler.scheduleWithFixedDelay(userChangeFeed::run, Instant.now().plus(interval), interval);
+    }
+
+    @Override
+    public void destroy() {
+        relayScheduler.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package com.bintang.usermanagement.config;
+
+import com.bintang.usermanagement.service.UserIndexSync;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Runs the user index catch-up once the application is ready, which loads the search and suggest
+ * indexes and makes them ready, then with a fixed delay, on the index thread of {@link UserIndexSync}.
+ * Active when either index is enabled.
+ */
+@Configuration
+@ConditionalOnExpression("${app.users.search.index.enabled:false} or ${app.users.suggest.enabled:false}")
+@RequiredArgsConstructor
+public class UserIndexSchedulingConfig {
+
+    private final UserIndexSync userIndexSync;
+    private final UserProperties userProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCatchUp() {
+        userIndexSync.startCatchUp(userProperties.getIndexSync().getInterval());
+    }
+}
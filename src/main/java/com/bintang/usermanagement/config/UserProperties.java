@@ -0,0 +1,252 @@
+package com.bintang.usermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users")
+public class UserProperties {
+
+    /**
+     * Number of users flushed per JDBC batch during bulk creation.
+     * Keep in sync with hibernate.jdbc.batch_size.
+     */
+    private int batchSize = 50;
+
+    private final Search search = new Search();
+
+    private final Cache cache = new Cache();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final Count count = new Count();
+
+    private final Archive archive = new Archive();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final Suggest suggest = new Suggest();
+
+    private final IndexSync indexSync = new IndexSync();
+
+    private final Changes changes = new Changes();
+
+    @Data
+    public static class Search {
+
+        /**
+         * Shortest name/email term accepted by search. pg_trgm indexes need at least
+         * one full trigram, so shorter terms would fall back to a full scan.
+         */
+        private int minTermLength = 3;
+
+        private final Index index = new Index();
+
+        @Data
+        public static class Index {
+
+            /**
+             * Keeps an embedded Lucene index of users for mode=relevance search.
+             * Without it, relevance search falls back to SQL.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Index directory; survives restarts so startup only catches up on recent changes.
+             */
+            private String path = "data/user-search-index";
+
+            /**
+             * Deepest result (page offset + size) relevance search will rank.
+             */
+            private int maxResultWindow = 10_000;
+        }
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Enables the in-process getById cache. When disabled, caching annotations become no-ops.
+         */
+        private boolean enabled = true;
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * After an eviction, puts of the same user are dropped for this long, so a lookup that
+         * read the row before the write committed does not cache the old state. Longer than
+         * any getById transaction should take.
+         */
+        private Duration evictionFence = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class BulkImport {
+
+        /**
+         * Rejected rows kept per job for reporting; counters still cover every row.
+         */
+        private int maxRejects = 1000;
+
+        /**
+         * How long finished jobs stay queryable.
+         */
+        private Duration jobRetention = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Count {
+
+        /**
+         * How long exact totals are reused per name/email filter. Zero disables the cache.
+         */
+        private Duration exactCacheTtl = Duration.ZERO;
+
+        private long exactCacheMaximumSize = 1000;
+    }
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Ids per UPDATE statement in bulk delete/update; bounds statement size and bind
+         * parameters while the whole request still commits atomically.
+         */
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Lets concurrent identical getById and search calls share one database lookup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Longest a call waits for the identical call it joined before failing, like a caller
+         * waiting for a pooled connection would.
+         */
+        private Duration waitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Suggest {
+
+        /**
+         * Keeps names and emails of live users in an in-memory prefix index for /suggest,
+         * about 130 MB of heap per million users. Without it, suggestions come from a prefix
+         * LIKE query.
+         */
+        private boolean enabled;
+
+        /**
+         * Most suggestions one request may ask for.
+         */
+        private int maxLimit = 50;
+    }
+
+    @Data
+    public static class IndexSync {
+
+        /**
+         * Delay between catch-up runs that pick up writes made outside UserService.
+         */
+        private Duration interval = Duration.ofMinutes(1);
+
+        /**
+         * How far before the last synced point a catch-up starts re-reading. updated_at is
+         * stamped when a transaction starts, so it must exceed the longest write transaction.
+         */
+        private Duration catchUpOverlap = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Changes {
+
+        /**
+         * Writes the user_outbox, runs its relay and serves /api/users/changes. When off, writes
+         * skip the outbox, so nothing accumulates without a relay to prune it.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between relay runs; the most a change waits before it reaches subscribers.
+         */
+        private Duration relayInterval = Duration.ofMillis(500);
+
+        /**
+         * Most changes sent as one event, and read from the outbox per query.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Threads replaying to resuming subscribers; further replays wait for a free one.
+         */
+        private int replayThreads = 4;
+
+        /**
+         * How long published changes stay resumable; older ones are deleted.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * Idle subscribers get a comment this often, so proxies keep the stream open.
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * A stream is closed after this long; EventSource clients reconnect with Last-Event-ID.
+         */
+        private Duration streamTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Archive {
+
+        /**
+         * Runs the job that moves old soft-deleted users to users_archive.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a soft-deleted user stays in the users table before it is archived.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        /**
+         * Delay between the end of one run and the start of the next.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Rows moved per transaction; keeps row locks and WAL bursts small.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Pause between batches, leaving I/O and connections to request traffic.
+         */
+        private Duration batchPause = Duration.ofMillis(200);
+
+        /**
+         * Upper bound per run; the remaining rows are picked up by the next run.
+         */
+        private int maxBatchesPerRun = 100;
+
+        /**
+         * A batch gives up instead of queueing behind a lock held by request traffic.
+         */
+        private Duration lockTimeout = Duration.ofSeconds(1);
+
+        private Duration statementTimeout = Duration.ofSeconds(10);
+    }
+
+}
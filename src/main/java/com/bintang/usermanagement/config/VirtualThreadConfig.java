@@ -0,0 +1,98 @@
+package com.bintang.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Active with spring.threads.virtual.enabled=true. Request handling and @Async work then run on
+ * virtual threads (configured by Spring Boot), and the application datasource is fronted by a
+ * {@link ConnectionGateDataSource} sized to the pools behind it.
+ * <p>
+ * Virtual threads need a Java 21+ runtime. Spring Boot silently ignores the property on older
+ * ones, so {@link VirtualThreadRuntimeCheck} fails startup there instead of running on platform
+ * threads unnoticed.
+ * <p>
+ * Component scanning also picks up the nested configurations on their own, so each one repeats
+ * the full condition rather than relying on this class's.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Without replicas: the Hikari pool Spring Boot would otherwise create, declared here so it
+     * stays a HikariDataSource bean while the gate in front of it is the application datasource.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "false", matchIfMissing = true)
+    static class GatedPool {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            if (StringUtils.hasText(dataSourceProperties.getName())) {
+                dataSource.setPoolName(dataSourceProperties.getName());
+            }
+            return dataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+            log.info("Gating datasource with {} permits for virtual threads", primaryDataSource.getMaximumPoolSize());
+            return new ConnectionGateDataSource(
+                    primaryDataSource,
+                    primaryDataSource.getMaximumPoolSize(),
+                    primaryDataSource.getConnectionTimeout());
+        }
+    }
+
+    /**
+     * With replicas: gates only the routing datasource of {@link ReplicaRoutingConfig}, declared
+     * as a plain DataSource, with permits for the primary pool and every replica pool.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+    static class GatedReplicaRouting {
+
+        @Bean
+        public static BeanPostProcessor connectionGateBeanPostProcessor(
+                @Qualifier("primaryDataSource") ObjectProvider<HikariDataSource> primaryDataSource,
+                ObjectProvider<ReplicaProperties> replicaProperties) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+
+                    HikariDataSource primary = primaryDataSource.getObject();
+                    ReplicaProperties replicas = replicaProperties.getObject();
+                    int permits = primary.getMaximumPoolSize() + replicas.getUrls().size() * replicas.getMaximumPoolSize();
+                    log.info("Gating datasource '{}' with {} permits for virtual threads", beanName, permits);
+                    return new ConnectionGateDataSource(dataSource, permits, primary.getConnectionTimeout());
+                }
+            };
+        }
+    }
+}
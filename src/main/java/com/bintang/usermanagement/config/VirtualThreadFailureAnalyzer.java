@@ -0,0 +1,22 @@
+package com.bintang.usermanagement.config;
+
+import org.springframework.boot.diagnostics.AbstractFailureAnalyzer;
+import org.springframework.boot.diagnostics.FailureAnalysis;
+
+/**
+ * Reports virtual threads requested on a runtime without them as a configuration problem
+ * instead of a stack trace.
+ */
+public class VirtualThreadFailureAnalyzer
+        extends AbstractFailureAnalyzer<VirtualThreadRuntimeCheck.VirtualThreadsUnsupportedException> {
+
+    @Override
+    protected FailureAnalysis analyze(Throwable rootFailure,
+                                      VirtualThreadRuntimeCheck.VirtualThreadsUnsupportedException cause) {
+        return new FailureAnalysis(
+                cause.getMessage() + ". Spring Boot would ignore the property and keep serving requests on platform threads.",
+                "Run the application on Java 21 or later, or set spring.threads.virtual.enabled=false "
+                        + "(or drop the virtual-threads profile).",
+                cause);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bintang.usermanagement.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Fails startup with spring.threads.virtual.enabled=true on a runtime older than Java 21,
+ * before any bean is created. {@link VirtualThreadFailureAnalyzer} reports it.
+ */
+public class VirtualThreadRuntimeCheck implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        check(environment, JavaVersion.getJavaVersion());
+    }
+
+    static void check(ConfigurableEnvironment environment, JavaVersion runtime) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtualThreads && runtime.isOlderThan(JavaVersion.TWENTY_ONE)) {
+            throw new VirtualThreadsUnsupportedException(runtime);
+        }
+    }
+
+    static class VirtualThreadsUnsupportedException extends RuntimeException {
+
+        VirtualThreadsUnsupportedException(JavaVersion runtime) {
+            super("spring.threads.virtual.enabled=true needs a Java 21+ runtime, this is Java " + runtime);
+        }
+    }
+}
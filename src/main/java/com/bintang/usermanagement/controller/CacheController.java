@@ -0,0 +1,64 @@
+package com.bintang.usermanagement.controller;
+
+import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Objects;
+
+@Tag(
+        name = "Cache",
+        description = "Endpoints for inspecting application caches"
+)
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Retrieve hit, miss and eviction statistics of every cache; empty when caching is disabled"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getStats() {
+        List<CacheStatsResponse> stats = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(cache -> cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache)
+                .map(this::mapToResponse)
+                .toList();
+
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", stats));
+    }
+
+    private CacheStatsResponse mapToResponse(Cache cache) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .size(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.bintang.usermanagement.controller;
+
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.service.UserChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(
+        name = "User Changes",
+        description = "Server-Sent Events feed of user creates, updates and deletes"
+)
+@RestController
+@RequestMapping("/api/users/changes")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.users.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserChangeController {
+
+    private final UserChangeFeed userChangeFeed;
+
+    @Operation(
+            summary = "Stream user changes",
+            description = "Every create, update and delete in commit order, as 'changes' events whose data is a JSON " +
+                    "array of up to 500 changes and whose id is the position of the last one. Resume with the " +
+                    "Last-Event-ID header (sent by EventSource on reconnect) or 'after'; without either, only new " +
+                    "changes are sent. A 'reset' event means changes were pruned since that position: reload, then " +
+                    "apply the events that follow"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid position")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestHeader(value = "Last-Event-ID", required = false)
+            @Parameter(description = "Position of the last change received; takes precedence over 'after'", example = "42")
+            String lastEventId,
+            @RequestParam(required = false)
+            @Parameter(description = "Position to resume after, for clients that cannot set headers", example = "42")
+            Long after
+    ) {
+        return userChangeFeed.subscribe(lastEventId != null ? parsePosition(lastEventId) : after);
+    }
+
+    private static long parsePosition(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.strip());
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Last-Event-ID", "Last-Event-ID must be a change position");
+        }
+    }
+}
@@ -1,23 +1,54 @@
 package com.bintang.usermanagement.controller;
 
+import com.bintang.usermanagement.dto.request.BulkDeleteUsersRequest;
+import com.bintang.usermanagement.dto.request.BulkUpdateUsersRequest;
 import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.CreateUsersBatchRequest;
+import com.bintang.usermanagement.dto.request.GetUsersByIdsRequest;
 import com.bintang.usermanagement.dto.request.UpdateUserRequest;
 import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BulkOperationResponse;
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
+import com.bintang.usermanagement.dto.response.PageResponse;
 import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.dto.response.UsersByIdsResponse;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.service.CountMode;
+import com.bintang.usermanagement.service.SearchMode;
 import com.bintang.usermanagement.service.UserService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Tag(
         name = "User Management",
@@ -28,7 +59,14 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType("application/cbor-seq");
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Create new user",
@@ -46,19 +84,128 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
     }
 
+    @Operation(
+            summary = "Create users in batch",
+            description = "Create up to 1000 users in one request; duplicates are reported per item"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch processed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchCreateUsersResponse>> createAll(@RequestBody @Valid CreateUsersBatchRequest request) {
+        BatchCreateUsersResponse batchResponse = userService.createAll(request.getUsers());
+        ApiResponse<BatchCreateUsersResponse> apiResponse = ApiResponse.success("Users batch processed", batchResponse);
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @Operation(
             summary = "Get all users",
-            description = "Retrieve paginated list of users"
+            description = "Retrieve paginated list of users. count=estimate uses planner statistics for the total, " +
+                    "count=none returns a slice without totals. Also served as Smile or CBOR on request via Accept"
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid pagination or count parameters")
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<UserResponse>>> getAll(@PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<UserResponse> userResponsePageable = userService.getAll(pageable);
-        ApiResponse<Page<UserResponse>> apiResponse = ApiResponse.success("Users retrieved successfully", userResponsePageable);
-        return ResponseEntity.ok(apiResponse);
+    public ResponseEntity<ApiResponse<PageResponse<UserResponse>>> getAll(
+            @RequestParam(defaultValue = "exact")
+            @Parameter(description = "Total count mode: exact, estimate or none", example = "exact")
+            String count,
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable
+    ) {
+        Slice<UserResponse> userResponsePageable = userService.getAll(pageable, CountMode.from(count));
+        ApiResponse<PageResponse<UserResponse>> apiResponse =
+                ApiResponse.success("Users retrieved successfully", PageResponse.of(userResponsePageable));
+        // a matching If-None-Match is answered with 304 before the body is serialized
+        return ResponseEntity.ok().eTag(UserETags.of(userResponsePageable)).varyBy(HttpHeaders.ACCEPT).body(apiResponse);
+    }
+
+    @Operation(
+            summary = "Get all users by cursor",
+            description = "Retrieve users page by page using an opaque cursor; no total count is computed. " +
+                    "Pass an empty 'after' for the first page, then the returned nextCursor"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or sort")
+    })
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> getAllByCursor(
+            @RequestParam(required = false) String after,
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable
+    ) {
+        CursorPageResponse<UserResponse> userResponses = userService.scroll(null, null, after, pageable.getPageSize(), pageable.getSort());
+        ApiResponse<CursorPageResponse<UserResponse>> apiResponse = ApiResponse.success("Users retrieved successfully", userResponses);
+        return ResponseEntity.ok().eTag(UserETags.of(userResponses)).varyBy(HttpHeaders.ACCEPT).body(apiResponse);
+    }
+
+    @Operation(
+            summary = "Get users by IDs",
+            description = "Retrieve up to 1000 users in one request, in the order of the ids; " +
+                    "ids without a live user are listed in missing"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No ids or more than 1000 ids")
+    })
+    // exclusive with the cursor mapping: both parameters would otherwise match two handlers
+    @GetMapping(params = {"ids", "!after"})
+    public ResponseEntity<ApiResponse<UsersByIdsResponse>> getByIds(
+            @RequestParam
+            @Parameter(description = "Comma-separated user IDs", example = "3,1,2")
+            List<Long> ids
+    ) {
+        UsersByIdsResponse users = userService.getByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
+    }
+
+    @Operation(
+            summary = "Look up users by IDs",
+            description = "Same as GET /api/users?ids=..., with the ids in the request body for long lists"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<UsersByIdsResponse>> lookup(@RequestBody @Valid GetUsersByIdsRequest request) {
+        UsersByIdsResponse users = userService.getByIds(request.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
+    }
+
+    @Operation(
+            summary = "Export all users",
+            description = "Stream every user as NDJSON (default) or CSV, one user per line, " +
+                    "or as a sequence of Smile or CBOR documents"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users exported successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson")
+            @Parameter(description = "Export format: ndjson, csv, smile or cbor", example = "ndjson")
+            String format
+    ) {
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body((StreamingResponseBody) this::writeNdjson);
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .header("Content-Disposition", "attachment; filename=users.csv")
+                    .body((StreamingResponseBody) this::writeCsv);
+            case "smile" -> ResponseEntity.ok()
+                    .contentType(APPLICATION_SMILE)
+                    .body((StreamingResponseBody) out -> writeSequence(out, new SmileFactory()));
+            case "cbor" -> ResponseEntity.ok()
+                    .contentType(APPLICATION_CBOR_SEQ)
+                    .body((StreamingResponseBody) out -> writeSequence(out, new CBORFactory()));
+            default -> throw new InvalidRequestException("format", "format must be ndjson, csv, smile or cbor");
+        };
     }
 
     @Operation(
@@ -67,17 +214,34 @@ public class UserController {
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "User not modified"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<UserResponse>> getById(
             @PathVariable("id")
             @Parameter(description = "User ID", example = "1")
-            Long id
+            Long id,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag from a previous response", example = "\"0\"")
+            String ifNoneMatch,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+            @Parameter(hidden = true)
+            String accept
     ) {
+        if (ifNoneMatch != null) {
+            // answered from a version-only query, without loading or serializing the user
+            String etag = UserETags.of(userService.getVersion(id), accept);
+            if (UserETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+
         UserResponse user = userService.getById(id);
         ApiResponse<UserResponse> apiResponse = ApiResponse.success("User retrieved successfully", user);
-        return ResponseEntity.status(HttpStatus.OK).body(apiResponse);
+        return ResponseEntity.status(HttpStatus.OK).eTag(UserETags.of(user.getVersion(), accept)).varyBy(HttpHeaders.ACCEPT).body(apiResponse);
     }
 
     @Operation(
@@ -87,7 +251,8 @@ public class UserController {
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "User was modified since the If-Match ETag")
     })
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<UserResponse>> update(
@@ -95,32 +260,92 @@ public class UserController {
             @Parameter(description = "User ID", example = "1")
             Long id,
 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Only update if the user is still at this ETag", example = "\"0\"")
+            String ifMatch,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+            @Parameter(hidden = true)
+            String accept,
+
             @RequestBody @Valid UpdateUserRequest request
     ) {
-        UserResponse updatedUser = userService.update(id, request);
+        UserResponse updatedUser = userService.update(id, request, UserETags.expectedVersion(ifMatch));
         ApiResponse<UserResponse> apiResponse = ApiResponse.success("User updated successfully", updatedUser);
-        return ResponseEntity.ok(apiResponse);
+        return ResponseEntity.ok().eTag(UserETags.of(updatedUser.getVersion(), accept)).varyBy(HttpHeaders.ACCEPT).body(apiResponse);
     }
 
     @Operation(
             summary = "Search user",
-            description = "search user by name or email"
+            description = "search user by name or email; mode=relevance ranks typo-tolerant token matches " +
+                    "from the search index and ignores sort"
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User found"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<Page<UserResponse>>> search(
+    public ResponseEntity<ApiResponse<PageResponse<UserResponse>>> search(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = "exact")
+            @Parameter(description = "Total count mode: exact, estimate or none", example = "exact")
+            String count,
+            @RequestParam(defaultValue = "sql")
+            @Parameter(description = "Match mode: sql (substring) or relevance (ranked, falls back to sql " +
+                    "while the search index is not ready)", example = "sql")
+            String mode,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC)
             Pageable pageable
     ) {
-        Page<UserResponse> userResponse = userService.search(name, email, pageable);
-        return ResponseEntity.ok().body(ApiResponse.success("User found", userResponse));
+        CountMode countMode = CountMode.from(count);
+        Slice<UserResponse> userResponse = SearchMode.from(mode) == SearchMode.RELEVANCE
+                ? userService.searchRanked(name, email, pageable, countMode)
+                : userService.search(name, email, pageable, countMode);
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success("User found", PageResponse.of(userResponse)));
     }
 
+    @Operation(
+            summary = "Suggest users",
+            description = "Type-ahead: live users whose name, a word of the name, or email starts with the prefix, " +
+                    "case-insensitive, in alphabetical order. Served from memory; version is not included"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing prefix or limit out of range")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<UserResponse>>> suggest(
+            @RequestParam(required = false)
+            @Parameter(description = "Start of a name, a word of the name, or an email", example = "bin")
+            String prefix,
+            @RequestParam(defaultValue = "10")
+            @Parameter(description = "Most suggestions to return, up to 50", example = "10")
+            int limit
+    ) {
+        List<UserResponse> suggestions = userService.suggest(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+    }
+
+    @Operation(
+            summary = "Search user by cursor",
+            description = "search user by name or email using an opaque cursor; no total count is computed"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or sort")
+    })
+    @GetMapping(value = "/search", params = "after")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> searchByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String after,
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC)
+            Pageable pageable
+    ) {
+        CursorPageResponse<UserResponse> userResponse = userService.scroll(name, email, after, pageable.getPageSize(), pageable.getSort());
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success("User found", userResponse));
+    }
 
     @Operation(
             summary = "Delete user",
@@ -128,20 +353,112 @@ public class UserController {
     )
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "204", description = "User deleted successfully"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "User was modified since the If-Match ETag")
     })
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ResponseEntity<ApiResponse<UserResponse>> delete(
             @PathVariable("id")
             @Parameter(description = "User ID", example = "1")
-            Long id
+            Long id,
+
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Only delete if the user is still at this ETag", example = "\"0\"")
+            String ifMatch
     ) {
-        userService.delete(id);
+        userService.delete(id, UserETags.expectedVersion(ifMatch));
         return ResponseEntity.ok()
                 .body(ApiResponse.success(
                         "User deleted successfully",
                         UserResponse.builder().build()));
     }
 
+    @Operation(
+            summary = "Delete users in bulk",
+            description = "Soft delete up to 50000 users by id, or every user matching a name/email filter, " +
+                    "with set-based UPDATE statements in one transaction"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users deleted successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of ids and filter given")
+    })
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteAll(@RequestBody @Valid BulkDeleteUsersRequest request) {
+        BulkOperationResponse bulkResponse = userService.deleteAll(request);
+        return ResponseEntity.ok(ApiResponse.success("Users deleted successfully", bulkResponse));
+    }
+
+    @Operation(
+            summary = "Update users in bulk",
+            description = "Apply partial updates to up to 50000 users with set-based UPDATE statements in one transaction"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users updated successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Duplicate email")
+    })
+    @PatchMapping
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> updateAll(@RequestBody @Valid BulkUpdateUsersRequest request) {
+        BulkOperationResponse bulkResponse = userService.updateAll(request.getUsers());
+        return ResponseEntity.ok(ApiResponse.success("Users updated successfully", bulkResponse));
+    }
+
+    private void writeNdjson(OutputStream out) throws IOException {
+        // one document per line, regardless of the global indent-output setting
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        Writer lines = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        userService.exportAll(user -> {
+            try {
+                lines.write(writer.writeValueAsString(user));
+                lines.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        lines.flush();
+    }
+
+    /**
+     * Back-to-back binary documents, one per user, read with ObjectReader.readValues.
+     */
+    private void writeSequence(OutputStream out, JsonFactory factory) throws IOException {
+        // same modules and features as the JSON mapper, different encoding
+        SequenceWriter users = objectMapper.copyWith(factory).writer().writeValues(out);
+
+        userService.exportAll(user -> {
+            try {
+                users.write(user);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        users.flush();
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        Writer lines = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        lines.write("id,name,email\n");
+
+        userService.exportAll(user -> {
+            try {
+                lines.write(user.getId() + "," + csvValue(user.getName()) + "," + csvValue(user.getEmail()) + "\n");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        lines.flush();
+    }
+
+    private static String csvValue(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
 }
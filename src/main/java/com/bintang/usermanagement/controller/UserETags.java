@@ -0,0 +1,142 @@
+package com.bintang.usermanagement.controller;
+
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ETags derived from user versions, so they can be computed without serializing a response
+ * body. A single user is tagged strongly with its version, which If-Match compares; Smile and
+ * CBOR bodies add their format ({@code "3+cbor"}), since a strong tag names one representation.
+ * A page or slice gets a weak tag, a digest of its ids, versions and paging state: it is the
+ * same for the JSON, Smile and CBOR bodies. Both must go out with Vary: Accept. Shared with
+ * the reactive module.
+ */
+public final class UserETags {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    /**
+     * Formats in message converter order; JSON, first, is tagged with the bare version.
+     */
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR);
+
+    private static final Map<MediaType, String> BINARY_FORMATS = Map.of(SMILE, "smile", MediaType.APPLICATION_CBOR, "cbor");
+
+    private UserETags() {
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Tag of the representation content negotiation picks for the Accept header.
+     */
+    public static String of(Long version, String accept) {
+        String format = BINARY_FORMATS.get(representation(accept));
+        return version == null || format == null ? of(version) : "\"" + version + "+" + format + "\"";
+    }
+
+    public static String of(Slice<UserResponse> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getNumber()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page instanceof Page<?> totals ? totals.getTotalElements() : page.hasNext());
+        return digest(state, page.getContent());
+    }
+
+    public static String of(CursorPageResponse<UserResponse> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getSize()).append(':')
+                .append(page.isHasNext()).append(':')
+                .append(page.getNextCursor());
+        return digest(state, page.getContent());
+    }
+
+    /**
+     * Weak comparison, as required for If-None-Match.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version expected by an If-Match header, or null when the header is absent or "*".
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new InvalidRequestException(HttpHeaders.IF_MATCH, "If-Match must be a single strong ETag");
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int format = opaque.indexOf('+');
+        try {
+            return Long.parseLong(format < 0 ? opaque : opaque.substring(0, format));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException(HttpHeaders.IF_MATCH, "If-Match must be a single strong ETag");
+        }
+    }
+
+    /**
+     * As Spring MVC negotiates: accepted types by specificity and quality, the first one
+     * with the highest quality wins, converters in order within it. Null when nothing is
+     * acceptable, which is answered with 406 anyway.
+     */
+    private static MediaType representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        MediaType chosen = null;
+        double quality = 0;
+        for (MediaType acceptable : accepted) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (acceptable.isCompatibleWith(representation) && acceptable.getQualityValue() > quality) {
+                    chosen = representation;
+                    quality = acceptable.getQualityValue();
+                }
+            }
+        }
+        return chosen;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String digest(StringBuilder state, List<UserResponse> users) {
+        for (UserResponse user : users) {
+            state.append('|').append(user.getId()).append(':').append(user.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
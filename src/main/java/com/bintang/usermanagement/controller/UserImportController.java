@@ -0,0 +1,72 @@
+package com.bintang.usermanagement.controller;
+
+import com.bintang.usermanagement.dto.response.ApiResponse;
+import com.bintang.usermanagement.dto.response.ImportJobResponse;
+import com.bintang.usermanagement.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(
+        name = "User Import",
+        description = "Endpoints for bulk loading users from CSV files"
+)
+@RestController
+@RequestMapping("/api/users/import")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @Operation(
+            summary = "Start user import",
+            description = "Upload a CSV with a 'name,email' header as the raw request body (text/csv). " +
+                    "Gzip is accepted via Content-Encoding: gzip or Content-Type: application/gzip. " +
+                    "The import runs asynchronously; poll the returned job for progress"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import job started"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "415", description = "Unsupported content type")
+    })
+    @PostMapping(consumes = {"text/csv", "application/gzip"})
+    public ResponseEntity<ApiResponse<ImportJobResponse>> start(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding
+    ) throws IOException {
+        boolean gzip = "gzip".equalsIgnoreCase(contentEncoding) || contentType.startsWith("application/gzip");
+        ImportJobResponse job = userImportService.start(body, gzip);
+        return ResponseEntity.accepted().body(ApiResponse.success("User import started", job));
+    }
+
+    @Operation(
+            summary = "Get user import job",
+            description = "Retrieve progress, throughput and rejected rows of an import job"
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import job found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getJob(
+            @PathVariable("jobId")
+            @Parameter(description = "Import job ID")
+            String jobId
+    ) {
+        ImportJobResponse job = userImportService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Import job found", job));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bintang.usermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Bulk soft delete selector: either ids or a name/email filter")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteUsersRequest {
+
+    @Schema(description = "Users to delete", example = "[1, 2, 3]")
+    @Size(max = 50000)
+    private List<@NotNull Long> ids;
+
+    @Schema(description = "Delete users whose name contains this term", example = "john")
+    private String name;
+
+    @Schema(description = "Delete users whose email contains this term", example = "mail.com")
+    private String email;
+}
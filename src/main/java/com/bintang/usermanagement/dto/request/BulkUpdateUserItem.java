@@ -0,0 +1,34 @@
+package com.bintang.usermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Partial update of one user; omitted fields are left unchanged")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateUserItem {
+
+    @Schema(example = "1")
+    @NotNull
+    private Long id;
+
+    @Schema(example = "John Doe")
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Size(max = 255)
+    private String name;
+
+    @Schema(example = "john.doe@email.com")
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Email
+    @Size(max = 255)
+    private String email;
+}
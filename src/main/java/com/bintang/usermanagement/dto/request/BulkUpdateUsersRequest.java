@@ -0,0 +1,25 @@
+package com.bintang.usermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Bulk partial update payload")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateUsersRequest {
+
+    @Schema(description = "Users to update, each id at most once")
+    @NotEmpty
+    @Size(max = 50000)
+    private List<@Valid BulkUpdateUserItem> users;
+}
@@ -0,0 +1,25 @@
+package com.bintang.usermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Batch user creation payload")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateUsersBatchRequest {
+
+    @Schema(description = "Users to create, processed in request order")
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid CreateUserRequest> users;
+}
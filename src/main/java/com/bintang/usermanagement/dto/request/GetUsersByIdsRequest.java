@@ -0,0 +1,25 @@
+package com.bintang.usermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Users to look up by id, for lists too long for a query string")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GetUsersByIdsRequest {
+
+    @Schema(description = "User ids; the response keeps this order", example = "[3, 1, 2]")
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Long> ids;
+}
@@ -3,6 +3,7 @@ package com.bintang.usermanagement.dto.request;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,10 +14,12 @@ public class UpdateUserRequest {
 
     @Schema(example = "John Doe")
     @NotBlank
+    @Size(max = 255)
     private String name;
 
     @Schema(example = "john.doe@email.com")
     @NotBlank
     @Email
+    @Size(max = 255)
     private String email;
 }
@@ -0,0 +1,24 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Schema(description = "Batch user creation result")
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchCreateUsersResponse {
+
+    @Schema(example = "998")
+    private int created;
+
+    @Schema(example = "2")
+    private int failed;
+
+    @Schema(description = "Per-item results in request order")
+    private List<BatchItemResult> results;
+}
@@ -0,0 +1,41 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Schema(description = "Result of a single item in a batch request")
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchItemResult {
+
+    @Schema(example = "0")
+    private int index;
+
+    @Schema(example = "CREATED")
+    private String status;
+
+    @Schema(description = "Created user, present when status is CREATED")
+    private UserResponse user;
+
+    @Schema(example = "email already exists")
+    private String error;
+
+    public static BatchItemResult created(int index, UserResponse user) {
+        return BatchItemResult.builder()
+                .index(index)
+                .status("CREATED")
+                .user(user)
+                .build();
+    }
+
+    public static BatchItemResult duplicate(int index) {
+        return BatchItemResult.builder()
+                .index(index)
+                .status("DUPLICATE")
+                .error("email already exists")
+                .build();
+    }
+}
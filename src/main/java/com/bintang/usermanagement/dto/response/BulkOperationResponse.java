@@ -0,0 +1,19 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Schema(description = "Bulk operation result")
+@AllArgsConstructor
+@Data
+@Builder
+public class BulkOperationResponse {
+
+    @Schema(description = "Distinct ids in the request; absent for filter-based operations", example = "1000")
+    private Integer requested;
+
+    @Schema(description = "Live users actually changed", example = "998")
+    private int affected;
+}
@@ -0,0 +1,31 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Schema(description = "Cache statistics payload")
+@AllArgsConstructor
+@Data
+@Builder
+public class CacheStatsResponse {
+
+    @Schema(example = "users")
+    private String name;
+
+    @Schema(example = "8421")
+    private long size;
+
+    @Schema(example = "120394")
+    private long hitCount;
+
+    @Schema(example = "9120")
+    private long missCount;
+
+    @Schema(example = "0.93")
+    private double hitRate;
+
+    @Schema(example = "312")
+    private long evictionCount;
+}
@@ -0,0 +1,27 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Schema(description = "Cursor based page, without total counts")
+@AllArgsConstructor
+@Data
+@Builder
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Page content")
+    private List<T> content;
+
+    @Schema(example = "50")
+    private int size;
+
+    @Schema(example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor for the next page, null on the last page", example = "aWQsQVNDLDUwLA")
+    private String nextCursor;
+}
@@ -0,0 +1,52 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "User import job progress")
+@AllArgsConstructor
+@Data
+@Builder
+public class ImportJobResponse {
+
+    @Schema(example = "5f0c6a1e-8f0e-4d7b-9a53-2f4f0f3c9b1a")
+    private String id;
+
+    @Schema(example = "STAGING", description = "QUEUED, STAGING, MERGING, COMPLETED or FAILED")
+    private String status;
+
+    @Schema(example = "250000")
+    private long rowsRead;
+
+    @Schema(example = "249990")
+    private long rowsStaged;
+
+    @Schema(example = "10")
+    private long rowsInvalid;
+
+    @Schema(example = "249000")
+    private long rowsInserted;
+
+    @Schema(example = "990")
+    private long rowsDuplicate;
+
+    @Schema(example = "182000.5")
+    private double rowsPerSecond;
+
+    @Schema(example = "2026-02-01T10:15:30")
+    private LocalDateTime startedAt;
+
+    @Schema(example = "2026-02-01T10:15:32")
+    private LocalDateTime finishedAt;
+
+    @Schema(example = "CSV header must contain name and email")
+    private String error;
+
+    @Schema(description = "Rejected rows, capped at app.users.bulk-import.max-rejects")
+    private List<ImportRejectResponse> rejects;
+}
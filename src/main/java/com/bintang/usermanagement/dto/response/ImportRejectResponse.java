@@ -0,0 +1,22 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Schema(description = "Rejected import row")
+@AllArgsConstructor
+@Data
+@Builder
+public class ImportRejectResponse {
+
+    @Schema(description = "Data row number in the uploaded file, header excluded", example = "42")
+    private long row;
+
+    @Schema(example = "email")
+    private String field;
+
+    @Schema(example = "must be a well-formed email address")
+    private String message;
+}
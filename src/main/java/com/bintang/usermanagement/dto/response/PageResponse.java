@@ -0,0 +1,56 @@
+package com.bintang.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Offset page as sent to clients. Keeps Spring Data's property names for the fields
+ * clients use, without the pageable and sort objects that PageImpl also serializes.
+ */
+@Schema(description = "Offset based page; totals are absent when count=none")
+@AllArgsConstructor
+@Data
+@Builder
+public class PageResponse<T> {
+
+    @Schema(description = "Page content")
+    private List<T> content;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int number;
+
+    @Schema(example = "10")
+    private int size;
+
+    @Schema(example = "1000")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @Schema(example = "100")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
+    @Schema(example = "false")
+    private boolean last;
+
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        PageResponseBuilder<T> page = PageResponse.<T>builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .last(slice.isLast());
+
+        if (slice instanceof Page<T> totals) {
+            page.totalElements(totals.getTotalElements())
+                    .totalPages(totals.getTotalPages());
+        }
+        return page.build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Schema(description = "One user write on the change feed, with the user's state after it")
+@AllArgsConstructor
+@Data
+@Builder
+public class UserChange {
+
+    @Schema(description = "Feed offset; increases by one per change. Resume with Last-Event-ID", example = "42")
+    private Long position;
+
+    @Schema(example = "UPDATED")
+    private Type type;
+
+    @Schema(example = "1")
+    private Long userId;
+
+    @Schema(example = "John Doe")
+    private String name;
+
+    @Schema(example = "john.doe@email.com")
+    private String email;
+
+    @Schema(example = "3")
+    private Long version;
+
+    @Schema(description = "Start of the transaction that made the change", example = "2026-01-01T00:00:00Z")
+    private Instant changedAt;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -20,4 +20,7 @@ public class UserResponse {
     @Schema(example = "john.doe@email.com")
     private String email;
 
+    @Schema(description = "Increments on every change; also sent as the ETag", example = "0")
+    private Long version;
+
 }
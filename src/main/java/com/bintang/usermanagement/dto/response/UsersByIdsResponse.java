@@ -0,0 +1,21 @@
+package com.bintang.usermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Schema(description = "Users found by id, in request order, and the ids that were not found")
+@AllArgsConstructor
+@Data
+@Builder
+public class UsersByIdsResponse {
+
+    @Schema(description = "Live users in the order their ids were requested; repeated ids appear once")
+    private List<UserResponse> users;
+
+    @Schema(description = "Requested ids with no live user, in request order", example = "[42]")
+    private List<Long> missing;
+}
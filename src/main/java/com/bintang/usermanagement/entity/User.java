@@ -1,5 +1,6 @@
 package com.bintang.usermanagement.entity;
 
+import com.bintang.usermanagement.config.RequestStatistics;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,26 +8,37 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.Where;
 
+import java.time.Instant;
+
 @Entity
+// email is unique among live users only: partial index ux_users_email_active (V6)
 @Table(name = "users")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Where(clause = "is_deleted = false")
+@EntityListeners(RequestStatistics.EntityLoadListener.class)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    private Instant deletedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 }
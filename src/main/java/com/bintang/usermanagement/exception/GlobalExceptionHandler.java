@@ -3,6 +3,10 @@ package com.bintang.usermanagement.exception;
 import com.bintang.usermanagement.dto.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -21,6 +25,13 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Unique constraints and the request field each one protects.
+     */
+    private static final Map<String, String> UNIQUE_CONSTRAINT_FIELDS = Map.of(
+            "ux_users_email_active", "email"
+    );
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -70,6 +81,80 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, "Duplicate resource", request, errors);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+            DataIntegrityViolationException ex,
+            HttpServletRequest request
+    ){
+        String constraintName = findConstraintName(ex);
+        String field = constraintName == null ? null : UNIQUE_CONSTRAINT_FIELDS.get(constraintName);
+
+        if (field != null) {
+            return handleDuplicateResource(
+                    new DuplicateResourceException(field, field + " already exists"), request);
+        }
+
+        log.warn("Data integrity violation on path={}", request.getRequestURI(), ex);
+
+        return buildErrorResponse(
+                HttpStatus.CONFLICT,
+                "Data integrity violation",
+                request,
+                Map.of("error", List.of("request conflicts with existing data"))
+        );
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(
+            PreconditionFailedException ex,
+            HttpServletRequest request
+    ){
+        log.warn(
+                "Precondition failed: resource={}, id={}, expectedVersion={}, path={}",
+                ex.getResourceName(),
+                ex.getId(),
+                ex.getExpectedVersion(),
+                request.getRequestURI()
+        );
+
+        Map<String, List<String>> errors = Map.of("version", List.of(ex.getMessage()));
+        return buildErrorResponse(HttpStatus.PRECONDITION_FAILED, "Precondition failed", request, errors);
+    }
+
+    /**
+     * A concurrent write bumped the @Version between our read and our write.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request
+    ){
+        log.warn("Optimistic locking failure on path={}", request.getRequestURI());
+
+        return buildErrorResponse(
+                HttpStatus.PRECONDITION_FAILED,
+                "Precondition failed",
+                request,
+                Map.of("version", List.of("resource was modified concurrently"))
+        );
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(
+            InvalidRequestException ex,
+            HttpServletRequest request
+    ){
+        log.warn(
+                "Invalid request: field={}, message={}, path={}",
+                ex.getField(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        Map<String, List<String>> errors = Map.of(ex.getField(), List.of(ex.getMessage()));
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid request", request, errors);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(
         Exception ex,
@@ -89,6 +174,20 @@ public class GlobalExceptionHandler {
         );
     }
 
+    private String findConstraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase();
+            }
+            // plain JDBC statements (bulk updates) are translated without Hibernate
+            if (cause instanceof PSQLException psql && psql.getServerErrorMessage() != null
+                    && psql.getServerErrorMessage().getConstraint() != null) {
+                return psql.getServerErrorMessage().getConstraint().toLowerCase();
+            }
+        }
+        return null;
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(
             HttpStatus status,
             String message,
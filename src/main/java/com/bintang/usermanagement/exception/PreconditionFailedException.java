@@ -0,0 +1,19 @@
+package com.bintang.usermanagement.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PreconditionFailedException extends RuntimeException{
+
+    private final String resourceName;
+    private final Object id;
+    private final Long expectedVersion;
+
+    public PreconditionFailedException(String resourceName, Object id, Long expectedVersion){
+        super(String.format("%s with id '%s' is no longer at version %s", resourceName, id, expectedVersion));
+        this.resourceName = resourceName;
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+}
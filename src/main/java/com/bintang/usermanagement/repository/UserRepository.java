@@ -1,12 +1,84 @@
 package com.bintang.usermanagement.repository;
 
 import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.repository.projection.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-    boolean existsByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserRepositoryCustom {
 
-    boolean existsByEmailAndIdNot(String email, Long id);
+    /**
+     * Emails taken by live users; ux_users_email_active lets deleted users' emails be reused.
+     */
+    @Query(value = "select email from users where email in (:emails) and is_deleted = false", nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Updates a live user in a single round trip. An email clash surfaces as a
+     * DataIntegrityViolationException on ux_users_email_active.
+     */
+    @Query(value = """
+            update users
+            set name = :name, email = :email, version = version + 1
+            where id = :id and is_deleted = false
+            returning id, name, email, version
+            """, nativeQuery = true)
+    Optional<UserSummary> updateReturning(@Param("id") Long id,
+                                          @Param("name") String name,
+                                          @Param("email") String email);
+
+    /**
+     * Same as {@link #updateReturning(Long, String, String)}, but only while the row is still
+     * at {@code version}. Empty when the user is missing or was changed in the meantime.
+     */
+    @Query(value = """
+            update users
+            set name = :name, email = :email, version = version + 1
+            where id = :id and is_deleted = false and version = :version
+            returning id, name, email, version
+            """, nativeQuery = true)
+    Optional<UserSummary> updateReturning(@Param("id") Long id,
+                                          @Param("name") String name,
+                                          @Param("email") String email,
+                                          @Param("version") Long version);
+
+    /**
+     * Soft deletes the live users among {@code ids} in one statement and returns their ids.
+     * Callers chunk the id list to keep the statement within the bind parameter limit.
+     */
+    @Query(value = """
+            update users
+            set is_deleted = true, deleted_at = now(), version = version + 1
+            where id in (:ids) and is_deleted = false
+            returning id
+            """, nativeQuery = true)
+    List<Long> softDeleteAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Version-only lookup used to answer conditional requests without loading the user.
+     */
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Server-side cursor over every live user, ordered by id. Rows are read as projections,
+     * so nothing accumulates in the persistence context. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.id as id, u.name as name, u.email as email, u.version as version from User u order by u.id")
+    Stream<UserSummary> streamAll();
 }
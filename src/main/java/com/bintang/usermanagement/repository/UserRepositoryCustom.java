@@ -0,0 +1,71 @@
+package com.bintang.usermanagement.repository;
+
+import com.bintang.usermanagement.dto.request.BulkUpdateUserItem;
+import com.bintang.usermanagement.dto.response.UserChange;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Read paths that select straight into {@link UserResponse}, so list traffic never
+ * materialises managed entities.
+ */
+public interface UserRepositoryCustom {
+
+    Page<UserResponse> findAllProjected(Specification<User> spec, Pageable pageable);
+
+    /**
+     * Same query, with the total supplied by the caller. The supplier is skipped when the
+     * page itself proves the total (first page not full, or last page).
+     */
+    Page<UserResponse> findAllProjected(Specification<User> spec, Pageable pageable, LongSupplier total);
+
+    /**
+     * Reads one row past the page to tell whether a next page exists; no count query.
+     */
+    Slice<UserResponse> findAllProjectedSlice(Specification<User> spec, Pageable pageable);
+
+    /**
+     * Planner row estimate for the UserSpecification.filter predicate, from EXPLAIN.
+     */
+    long estimateCount(String name, String email);
+
+    /**
+     * Soft deletes up to {@code limit} live users matching the UserSpecification.filter
+     * predicate in one statement and returns their ids. Repeat until fewer than
+     * {@code limit} ids come back.
+     */
+    List<Long> softDeleteMatching(String name, String email, int limit);
+
+    /**
+     * Live users with the given ids in one statement ({@code id = ANY(array)}), in no
+     * particular order; missing and deleted ids are simply absent.
+     */
+    List<UserResponse> findAllProjectedById(Collection<Long> ids);
+
+    /**
+     * Up to {@code limit} live users whose name, a later word of the name, or email starts
+     * with {@code prefix}, case-insensitive, ordered by name.
+     */
+    List<UserResponse> findByPrefix(String prefix, int limit);
+
+    /**
+     * Applies the non-null fields of each item to the live user with that id, in one
+     * statement, and returns the ids that were updated. Ids must be distinct.
+     */
+    List<Long> updateAll(List<BulkUpdateUserItem> items);
+
+    /**
+     * Appends one user_outbox row per user with the given ids, holding the user's current
+     * row, and returns the number of rows written. Runs in the caller's transaction, so the
+     * write must be flushed first.
+     */
+    int recordChanges(UserChange.Type type, Collection<Long> ids);
+}
@@ -0,0 +1,227 @@
+package com.bintang.usermanagement.repository;
+
+import com.bintang.usermanagement.dto.request.BulkUpdateUserItem;
+import com.bintang.usermanagement.dto.response.UserChange;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.specification.UserSpecification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String BULK_UPDATE = """
+            UPDATE users u
+            SET name = coalesce(v.name, u.name),
+                email = coalesce(v.email, u.email),
+                version = u.version + 1
+            FROM unnest(?, ?, ?) AS v(id, name, email)
+            WHERE u.id = v.id AND u.is_deleted = false
+            RETURNING u.id
+            """;
+
+    private static final String FIND_BY_IDS =
+            "SELECT id, name, email, version FROM users WHERE id = ANY(?) AND is_deleted = false";
+
+    private static final String FIND_BY_PREFIX = """
+            SELECT id, name, email, version FROM users
+            WHERE is_deleted = false
+              AND (lower(name) LIKE ? ESCAPE '\\' OR lower(name) LIKE ? ESCAPE '\\' OR lower(email) LIKE ? ESCAPE '\\')
+            ORDER BY lower(name), id
+            LIMIT ?
+            """;
+
+    private static final String RECORD_CHANGES = """
+            INSERT INTO user_outbox (user_id, change_type, name, email, version)
+            SELECT id, ?, name, email, version FROM users WHERE id = ANY(?) ORDER BY id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Page<UserResponse> findAllProjected(Specification<User> spec, Pageable pageable) {
+        return findAllProjected(spec, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<UserResponse> findAllProjected(Specification<User> spec, Pageable pageable, LongSupplier total) {
+        List<UserResponse> content = findContent(spec, pageable, pageable.getPageSize());
+        // skips the count query when the first page is not full
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public Slice<UserResponse> findAllProjectedSlice(Specification<User> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findContent(spec, pageable, 0), pageable, false);
+        }
+
+        List<UserResponse> content = findContent(spec, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public long estimateCount(String name, String email) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM users WHERE is_deleted = false");
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, name, email);
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+        try {
+            return OBJECT_MAPPER.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", ex);
+        }
+    }
+
+    @Override
+    public List<Long> softDeleteMatching(String name, String email, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                UPDATE users SET is_deleted = true, deleted_at = now(), version = version + 1
+                WHERE is_deleted = false AND id IN (
+                    SELECT id FROM users WHERE is_deleted = false""");
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, name, email);
+        sql.append(" ORDER BY id LIMIT ?) RETURNING id");
+        args.add(limit);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    @Override
+    public List<UserResponse> findAllProjectedById(Collection<Long> ids) {
+        Long[] idArray = ids.toArray(Long[]::new);
+
+        // one array parameter, so every list size shares a single prepared statement
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_BY_IDS);
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            return statement;
+        }, (rs, rowNum) -> UserResponse.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .version(rs.getLong("version"))
+                .build());
+    }
+
+    @Override
+    public List<UserResponse> findByPrefix(String prefix, int limit) {
+        String pattern = UserSpecification.prefixPattern(prefix);
+        return jdbcTemplate.query(FIND_BY_PREFIX, (rs, rowNum) -> UserResponse.builder()
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("name"))
+                        .email(rs.getString("email"))
+                        .version(rs.getLong("version"))
+                        .build(),
+                pattern, "% " + pattern, pattern, limit);
+    }
+
+    @Override
+    public List<Long> updateAll(List<BulkUpdateUserItem> items) {
+        Long[] ids = items.stream().map(BulkUpdateUserItem::getId).toArray(Long[]::new);
+        String[] names = items.stream().map(BulkUpdateUserItem::getName).toArray(String[]::new);
+        String[] emails = items.stream().map(BulkUpdateUserItem::getEmail).toArray(String[]::new);
+
+        // three array parameters regardless of the number of items
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(BULK_UPDATE);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, connection.createArrayOf("text", names));
+            statement.setArray(3, connection.createArrayOf("text", emails));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public int recordChanges(UserChange.Type type, Collection<Long> ids) {
+        Long[] idArray = ids.toArray(Long[]::new);
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_CHANGES);
+            statement.setString(1, type.name());
+            statement.setArray(2, connection.createArrayOf("bigint", idArray));
+            return statement;
+        });
+    }
+
+    /**
+     * Mirrors UserSpecification.filter so the planner sees the same predicate shape.
+     */
+    private static void appendFilter(StringBuilder sql, List<Object> args, String name, String email) {
+        if (StringUtils.hasText(name)) {
+            sql.append(" AND lower(name) LIKE ? ESCAPE '\\'");
+            args.add(UserSpecification.containsPattern(name));
+        }
+        if (StringUtils.hasText(email)) {
+            sql.append(" AND lower(email) LIKE ? ESCAPE '\\'");
+            args.add(UserSpecification.containsPattern(email));
+        }
+    }
+
+    private List<UserResponse> findContent(Specification<User> spec, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserResponse> query = cb.createQuery(UserResponse.class);
+        Root<User> root = query.from(User.class);
+
+        query.select(cb.construct(UserResponse.class,
+                root.get("id"), root.get("name"), root.get("email"), root.get("version")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<UserResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(Specification<User> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,15 @@
+package com.bintang.usermanagement.repository.projection;
+
+/**
+ * Read-only view of the user columns exposed by the API, used by native queries.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    Long getVersion();
+}
@@ -0,0 +1,20 @@
+package com.bintang.usermanagement.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated read with equal arguments share one invocation: the
+ * first caller runs it, the others wait for its result or exception. Only suitable for
+ * side-effect free methods whose result may be shared between callers.
+ *
+ * @see CoalescingAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,110 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.ReadYourWrites;
+import com.bintang.usermanagement.config.UserProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for {@link Coalesced} methods. A call joins an in-flight call with the same
+ * method and arguments instead of running its own, so a burst of identical reads costs one
+ * connection and one query.
+ * <p>
+ * Runs outside the cache and transaction interceptors, so waiting callers hold no
+ * connection. Nothing is kept once the call completes; callers arriving afterwards start
+ * a new call. Calls made inside an existing transaction are never coalesced, since they
+ * must see that transaction's state.
+ * <p>
+ * A joined call is waited for at most app.users.coalescing.wait-timeout, by default the
+ * datasource connection timeout, then fails with a {@link QueryTimeoutException}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.users.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingAspect {
+
+    private final ConcurrentMap<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Counter> coalescedCalls = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration waitTimeout;
+
+    public CoalescingAspect(MeterRegistry meterRegistry, UserProperties userProperties) {
+        this.meterRegistry = meterRegistry;
+        this.waitTimeout = userProperties.getCoalescing().getWaitTimeout();
+    }
+
+    @Around("@annotation(com.bintang.usermanagement.service.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        // a caller pinned to the primary must not take a result read from a replica
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()), ReadYourWrites.isPinned());
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalescedCalls.computeIfAbsent(method, this::coalescedCalls).increment();
+            return await(running);
+        }
+
+        try {
+            Object result = joinPoint.proceed();
+            inFlight.remove(key, call);
+            call.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // the leader's exception, e.g. ResourceNotFoundException, as if thrown here
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("No result from the identical in-flight call within " + waitTimeout, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private Counter coalescedCalls(Method method) {
+        return Counter.builder("user.service.coalesced")
+                .description("Calls answered by joining an identical in-flight call")
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+
+    private record CallKey(Method method, List<Object> args, boolean primaryPinned) {
+    }
+}
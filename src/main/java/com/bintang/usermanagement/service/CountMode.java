@@ -0,0 +1,27 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.exception.InvalidRequestException;
+
+/**
+ * How list and search pages compute their total.
+ */
+public enum CountMode {
+
+    /** count(*) over the filter, optionally cached for a short time. */
+    EXACT,
+
+    /** PostgreSQL planner row estimate; cheap, but may be off by a few percent. */
+    ESTIMATE,
+
+    /** No total at all; the page is returned as a slice. */
+    NONE;
+
+    public static CountMode from(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new InvalidRequestException("count", "count must be exact, estimate or none");
+    }
+}
@@ -0,0 +1,103 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.dto.response.ImportJobResponse;
+import com.bintang.usermanagement.dto.response.ImportRejectResponse;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of one CSV import. Updated by the import worker, read by status requests.
+ */
+@Getter
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Path file;
+    private final boolean gzip;
+    private final int maxRejects;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsStaged = new AtomicLong();
+    private final AtomicLong rowsInvalid = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsDuplicate = new AtomicLong();
+    private final List<ImportRejectResponse> rejects = new ArrayList<>();
+
+    private volatile String status = "QUEUED";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ImportJob(Path file, boolean gzip, int maxRejects) {
+        this.file = file;
+        this.gzip = gzip;
+        this.maxRejects = maxRejects;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now(ZoneOffset.UTC);
+        status = "STAGING";
+    }
+
+    void merging() {
+        status = "MERGING";
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now(ZoneOffset.UTC);
+        status = "COMPLETED";
+    }
+
+    void fail(String message) {
+        finishedAt = LocalDateTime.now(ZoneOffset.UTC);
+        error = message;
+        status = "FAILED";
+    }
+
+    void reject(long row, String field, String message) {
+        synchronized (rejects) {
+            if (rejects.size() < maxRejects) {
+                rejects.add(new ImportRejectResponse(row, field, message));
+            }
+        }
+    }
+
+    public ImportJobResponse toResponse() {
+        List<ImportRejectResponse> rejectsSnapshot;
+        synchronized (rejects) {
+            rejectsSnapshot = List.copyOf(rejects);
+        }
+
+        return ImportJobResponse.builder()
+                .id(id)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .rowsStaged(rowsStaged.get())
+                .rowsInvalid(rowsInvalid.get())
+                .rowsInserted(rowsInserted.get())
+                .rowsDuplicate(rowsDuplicate.get())
+                .rowsPerSecond(rowsPerSecond())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .rejects(rejectsSnapshot)
+                .build();
+    }
+
+    private double rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now(ZoneOffset.UTC);
+        long millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        return rowsRead.get() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,453 @@
+package com.bintang.usermanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Compact in-memory prefix index over user names and emails, for type-ahead.
+ * <p>
+ * Most entries live in an immutable segment of sorted primitive arrays: every key (the
+ * lowercased name, each later word of the name, and the email) is stored as UTF-8 in one
+ * byte[], located by an int[] of offsets and pointing at a user ordinal; users are a sorted
+ * long[] of ids with their name and email in another byte[]. A lookup is a binary search
+ * and a forward scan, with no per-entry objects to chase.
+ * <p>
+ * Writes go to a small sorted delta and mark the user's segment entries stale. Once the delta
+ * outgrows an eighth of the segment, both are merged into a new segment in one linear pass,
+ * so merges amortize to a constant cost per write. Reads take no lock; writes and merges are
+ * serialized, and a merge swaps in a whole new generation.
+ */
+public class PrefixIndex {
+
+    private static final int MIN_MERGE_SIZE = 10_000;
+    private static final int MERGE_RATIO = 8;
+
+    /**
+     * Rough heap cost of one delta user with its keys in the concurrent maps.
+     */
+    private static final int DELTA_USER_BYTES = 400;
+
+    private volatile Generation generation = new Generation(Segment.EMPTY);
+
+    public synchronized void put(long id, String name, String email) {
+        Generation current = generation;
+        DeltaUser user = new DeltaUser(id, name, email, keys(name, email));
+
+        removeFromDelta(current, id);
+        if (current.base.contains(id)) {
+            // hidden first: a reader may briefly miss the user, but never sees it twice
+            current.stale.add(id);
+        }
+        current.deltaUsers.put(id, user);
+        for (byte[] key : user.keys) {
+            current.delta.put(new DeltaKey(key, id), user);
+        }
+        mergeIfLarge(current);
+    }
+
+    public synchronized void remove(long id) {
+        Generation current = generation;
+        removeFromDelta(current, id);
+        if (current.base.contains(id)) {
+            current.stale.add(id);
+        }
+        mergeIfLarge(current);
+    }
+
+    /**
+     * Up to {@code limit} users with a key starting with {@code prefix}, case-insensitive,
+     * in key order, each user at most once.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        byte[] bytes = normalized.getBytes(StandardCharsets.UTF_8);
+        Generation current = generation;
+        List<Match> fromBase = current.base.matches(bytes, limit, current.stale);
+        List<Match> fromDelta = deltaMatches(current, bytes, limit);
+
+        // both lists are in key order; merge them, keeping the first match per user
+        Set<Long> seen = new LinkedHashSet<>();
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        int b = 0;
+        int d = 0;
+        while (suggestions.size() < limit && (b < fromBase.size() || d < fromDelta.size())) {
+            Match next = d == fromDelta.size()
+                    || (b < fromBase.size() && Match.ORDER.compare(fromBase.get(b), fromDelta.get(d)) <= 0)
+                    ? fromBase.get(b++)
+                    : fromDelta.get(d++);
+            if (seen.add(next.id)) {
+                suggestions.add(next.suggestion());
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Users currently indexed.
+     */
+    public int size() {
+        Generation current = generation;
+        return current.base.size() - current.stale.size() + current.deltaUsers.size();
+    }
+
+    /**
+     * Heap held by the segment arrays, plus an estimate for the delta.
+     */
+    public long memoryBytes() {
+        Generation current = generation;
+        return current.base.memoryBytes() + (long) current.deltaUsers.size() * DELTA_USER_BYTES;
+    }
+
+    private void mergeIfLarge(Generation current) {
+        int pending = current.deltaUsers.size() + current.stale.size();
+        if (pending > Math.max(MIN_MERGE_SIZE, current.base.size() / MERGE_RATIO)) {
+            generation = new Generation(merge(current));
+        }
+    }
+
+    private static void removeFromDelta(Generation current, long id) {
+        DeltaUser previous = current.deltaUsers.remove(id);
+        if (previous != null) {
+            for (byte[] key : previous.keys) {
+                current.delta.remove(new DeltaKey(key, id));
+            }
+        }
+    }
+
+    private static List<Match> deltaMatches(Generation current, byte[] prefix, int limit) {
+        List<Match> matches = new ArrayList<>(limit);
+        Set<Long> seen = new LinkedHashSet<>();
+        for (Map.Entry<DeltaKey, DeltaUser> entry
+                : current.delta.tailMap(new DeltaKey(prefix, Long.MIN_VALUE)).entrySet()) {
+            byte[] key = entry.getKey().key;
+            if (!startsWith(key, 0, key.length, prefix)) {
+                break;
+            }
+            DeltaUser user = entry.getValue();
+            if (seen.add(user.id)) {
+                matches.add(new Match(key, user.id, user.name, user.email));
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * One linear pass over the segment and the sorted delta; stale segment users are dropped.
+     */
+    private static Segment merge(Generation current) {
+        Segment base = current.base;
+        SegmentBuilder builder = new SegmentBuilder(base.size() + current.deltaUsers.size(),
+                base.keyCount() + current.delta.size(), base.text.length, base.keys.length);
+
+        long[] deltaIds = current.deltaUsers.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] remap = new int[base.size()];
+        Map<Long, Integer> deltaOrdinals = new HashMap<>();
+
+        int i = 0;
+        int j = 0;
+        while (i < base.size() || j < deltaIds.length) {
+            if (j == deltaIds.length || (i < base.size() && base.ids[i] < deltaIds[j])) {
+                remap[i] = current.stale.contains(base.ids[i]) ? -1 : builder.addUser(base, i);
+                i++;
+            } else {
+                if (i < base.size() && base.ids[i] == deltaIds[j]) {
+                    remap[i++] = -1;
+                }
+                deltaOrdinals.put(deltaIds[j], builder.addUser(current.deltaUsers.get(deltaIds[j])));
+                j++;
+            }
+        }
+
+        Iterator<DeltaKey> deltaKeys = current.delta.keySet().iterator();
+        DeltaKey deltaKey = deltaKeys.hasNext() ? deltaKeys.next() : null;
+        int k = 0;
+        while (k < base.keyCount() || deltaKey != null) {
+            boolean takeBase = deltaKey == null
+                    || (k < base.keyCount() && base.compareKey(k, deltaKey.key, deltaKey.id) <= 0);
+            if (takeBase) {
+                int user = remap[base.keyUser[k]];
+                if (user >= 0) {
+                    builder.addKey(base.keys, base.keyStart[k], base.keyStart[k + 1], user);
+                }
+                k++;
+            } else {
+                builder.addKey(deltaKey.key, 0, deltaKey.key.length, deltaOrdinals.get(deltaKey.id));
+                deltaKey = deltaKeys.hasNext() ? deltaKeys.next() : null;
+            }
+        }
+        return builder.build();
+    }
+
+    static List<byte[]> keys(String name, String email) {
+        Set<String> keys = new LinkedHashSet<>();
+        String lowerName = name.strip().toLowerCase(Locale.ROOT);
+        keys.add(lowerName);
+        // "Bintang Mada" is also found by "mada"
+        for (int i = 1; i < lowerName.length(); i++) {
+            if (Character.isWhitespace(lowerName.charAt(i - 1)) && !Character.isWhitespace(lowerName.charAt(i))) {
+                keys.add(lowerName.substring(i));
+            }
+        }
+        keys.add(email.strip().toLowerCase(Locale.ROOT));
+
+        List<byte[]> bytes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            bytes.add(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes;
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+        return to - from >= prefix.length
+                && Arrays.equals(bytes, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    public record Suggestion(long id, String name, String email) {
+    }
+
+    private record Match(byte[] key, long id, String name, String email) {
+
+        static final Comparator<Match> ORDER = (a, b) -> {
+            int byKey = Arrays.compareUnsigned(a.key, b.key);
+            return byKey != 0 ? byKey : Long.compare(a.id, b.id);
+        };
+
+        Suggestion suggestion() {
+            return new Suggestion(id, name, email);
+        }
+    }
+
+    private record DeltaUser(long id, String name, String email, List<byte[]> keys) {
+    }
+
+    /**
+     * Delta entry, ordered like segment keys: unsigned UTF-8 bytes, then id.
+     */
+    private record DeltaKey(byte[] key, long id) implements Comparable<DeltaKey> {
+
+        @Override
+        public int compareTo(DeltaKey other) {
+            int byKey = Arrays.compareUnsigned(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DeltaKey that && id == that.id && Arrays.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(key) + Long.hashCode(id);
+        }
+    }
+
+    /**
+     * A segment with its delta. The delta maps are only mutated under the PrefixIndex lock.
+     */
+    private static final class Generation {
+
+        final Segment base;
+        final ConcurrentSkipListMap<DeltaKey, DeltaUser> delta = new ConcurrentSkipListMap<>();
+        final Map<Long, DeltaUser> deltaUsers = new ConcurrentHashMap<>();
+        final Set<Long> stale = ConcurrentHashMap.newKeySet();
+
+        Generation(Segment base) {
+            this.base = base;
+        }
+    }
+
+    /**
+     * Immutable sorted arrays. User i has id ids[i], its name in text[textStart[i], emailStart[i])
+     * and its email in text[emailStart[i], textStart[i + 1]). Key k is keys[keyStart[k],
+     * keyStart[k + 1]) and belongs to user keyUser[k]; keys are sorted by bytes, then user.
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(new long[0], new int[1], new int[0], new byte[0],
+                new int[1], new int[0], new byte[0]);
+
+        final long[] ids;
+        final int[] textStart;
+        final int[] emailStart;
+        final byte[] text;
+        final int[] keyStart;
+        final int[] keyUser;
+        final byte[] keys;
+
+        Segment(long[] ids, int[] textStart, int[] emailStart, byte[] text,
+                int[] keyStart, int[] keyUser, byte[] keys) {
+            this.ids = ids;
+            this.textStart = textStart;
+            this.emailStart = emailStart;
+            this.text = text;
+            this.keyStart = keyStart;
+            this.keyUser = keyUser;
+            this.keys = keys;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int keyCount() {
+            return keyUser.length;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        long memoryBytes() {
+            return 8L * ids.length + 4L * (textStart.length + emailStart.length + keyStart.length + keyUser.length)
+                    + text.length + keys.length;
+        }
+
+        int compareKey(int k, byte[] other, long otherId) {
+            int byKey = Arrays.compareUnsigned(keys, keyStart[k], keyStart[k + 1], other, 0, other.length);
+            return byKey != 0 ? byKey : Long.compare(ids[keyUser[k]], otherId);
+        }
+
+        List<Match> matches(byte[] prefix, int limit, Set<Long> stale) {
+            List<Match> matches = new ArrayList<>(limit);
+            Set<Long> seen = new LinkedHashSet<>();
+            for (int k = lowerBound(prefix); k < keyCount() && matches.size() < limit; k++) {
+                if (!startsWith(keys, keyStart[k], keyStart[k + 1], prefix)) {
+                    break;
+                }
+                int user = keyUser[k];
+                long id = ids[user];
+                if (!stale.contains(id) && seen.add(id)) {
+                    matches.add(new Match(Arrays.copyOfRange(keys, keyStart[k], keyStart[k + 1]), id,
+                            decode(textStart[user], emailStart[user]), decode(emailStart[user], textStart[user + 1])));
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * First key not below the prefix.
+         */
+        private int lowerBound(byte[] prefix) {
+            int low = 0;
+            int high = keyCount();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(keys, keyStart[mid], keyStart[mid + 1], prefix, 0, prefix.length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private String decode(int from, int to) {
+            return new String(text, from, to - from, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Appends users in id order and keys in key order, growing its arrays as needed.
+     */
+    private static final class SegmentBuilder {
+
+        private long[] ids;
+        private int[] textStart;
+        private int[] emailStart;
+        private byte[] text;
+        private int[] keyStart;
+        private int[] keyUser;
+        private byte[] keys;
+        private int users;
+        private int keyCount;
+        private int textLength;
+        private int keysLength;
+
+        SegmentBuilder(int expectedUsers, int expectedKeys, int expectedText, int expectedKeyBytes) {
+            ids = new long[expectedUsers];
+            textStart = new int[expectedUsers + 1];
+            emailStart = new int[expectedUsers];
+            text = new byte[Math.max(16, expectedText)];
+            keyStart = new int[expectedKeys + 1];
+            keyUser = new int[expectedKeys];
+            keys = new byte[Math.max(16, expectedKeyBytes)];
+        }
+
+        int addUser(Segment segment, int user) {
+            int nameLength = segment.emailStart[user] - segment.textStart[user];
+            return addUser(segment.ids[user], segment.text, segment.textStart[user],
+                    segment.textStart[user + 1], nameLength);
+        }
+
+        int addUser(DeltaUser user) {
+            byte[] name = user.name.getBytes(StandardCharsets.UTF_8);
+            byte[] email = user.email.getBytes(StandardCharsets.UTF_8);
+            byte[] both = Arrays.copyOf(name, name.length + email.length);
+            System.arraycopy(email, 0, both, name.length, email.length);
+            return addUser(user.id, both, 0, both.length, name.length);
+        }
+
+        private int addUser(long id, byte[] source, int from, int to, int nameLength) {
+            if (users == ids.length) {
+                ids = Arrays.copyOf(ids, users * 2 + 1);
+                textStart = Arrays.copyOf(textStart, users * 2 + 2);
+                emailStart = Arrays.copyOf(emailStart, users * 2 + 1);
+            }
+            text = ensure(text, textLength + to - from);
+            ids[users] = id;
+            textStart[users] = textLength;
+            emailStart[users] = textLength + nameLength;
+            System.arraycopy(source, from, text, textLength, to - from);
+            textLength += to - from;
+            textStart[users + 1] = textLength;
+            return users++;
+        }
+
+        void addKey(byte[] source, int from, int to, int user) {
+            if (keyCount == keyUser.length) {
+                keyUser = Arrays.copyOf(keyUser, keyCount * 2 + 1);
+                keyStart = Arrays.copyOf(keyStart, keyCount * 2 + 2);
+            }
+            keys = ensure(keys, keysLength + to - from);
+            System.arraycopy(source, from, keys, keysLength, to - from);
+            keyStart[keyCount] = keysLength;
+            keysLength += to - from;
+            keyUser[keyCount++] = user;
+            keyStart[keyCount] = keysLength;
+        }
+
+        Segment build() {
+            return new Segment(
+                    Arrays.copyOf(ids, users),
+                    Arrays.copyOf(textStart, users + 1),
+                    Arrays.copyOf(emailStart, users),
+                    Arrays.copyOf(text, textLength),
+                    Arrays.copyOf(keyStart, keyCount + 1),
+                    Arrays.copyOf(keyUser, keyCount),
+                    Arrays.copyOf(keys, keysLength));
+        }
+
+        private static byte[] ensure(byte[] bytes, int length) {
+            return length <= bytes.length ? bytes : Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+        }
+    }
+}
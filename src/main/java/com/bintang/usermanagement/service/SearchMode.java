@@ -0,0 +1,24 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.exception.InvalidRequestException;
+
+/**
+ * How search matches and orders users.
+ */
+public enum SearchMode {
+
+    /** Case-insensitive substring match in PostgreSQL, ordered by the requested sort. */
+    SQL,
+
+    /** Token match from the embedded search index, tolerating typos, best match first. */
+    RELEVANCE;
+
+    public static SearchMode from(String value) {
+        for (SearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new InvalidRequestException("mode", "mode must be sql or relevance");
+    }
+}
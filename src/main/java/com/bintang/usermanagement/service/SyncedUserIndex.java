@@ -0,0 +1,34 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.dto.response.UserResponse;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A read model of live users kept in step with the users table by {@link UserIndexSync}.
+ */
+public interface SyncedUserIndex {
+
+    boolean isEnabled();
+
+    /**
+     * Point in time up to which the table has been applied; empty until the first catch-up
+     * has completed, in which case the next catch-up reads the whole table.
+     */
+    Optional<Instant> syncedUntil();
+
+    /**
+     * Adds or replaces the given live users and removes the given ids.
+     */
+    void apply(Collection<UserResponse> live, Collection<Long> removed) throws IOException;
+
+    /**
+     * Called after a catch-up has applied every row changed up to {@code syncedUntil}.
+     */
+    void commit(Instant syncedUntil) throws IOException;
+
+    void markReady();
+}
@@ -0,0 +1,145 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves soft-deleted users past the retention period from users to users_archive.
+ * <p>
+ * Each batch is one short transaction that copies and deletes the oldest rows, so an
+ * interrupted run loses nothing and the next run simply continues where it stopped.
+ * Rows locked by request traffic are skipped, lock and statement timeouts bound every
+ * batch, and batches are paused and capped per run.
+ */
+@Slf4j
+@Component
+public class UserArchiveJob {
+
+    /**
+     * An id archived before (a user restored from the archive and deleted again) keeps its
+     * archive row with the later state; the rows deleted here are always archived.
+     */
+    static final String ARCHIVE_BATCH = """
+            with doomed as (
+                select id
+                from users
+                where is_deleted = true and deleted_at < ?
+                order by deleted_at, id
+                limit ?
+                for update skip locked
+            ), moved as (
+                delete from users u
+                using doomed d
+                where u.id = d.id
+                returning u.id, u.name, u.email, u.version, u.deleted_at
+            )
+            insert into users_archive (id, name, email, version, deleted_at)
+            select id, name, email, version, deleted_at
+            from moved
+            on conflict (id) do update
+            set name = excluded.name,
+                email = excluded.email,
+                version = excluded.version,
+                deleted_at = excluded.deleted_at,
+                archived_at = now()
+            """;
+
+    private static final String SET_TIMEOUTS =
+            "select set_config('lock_timeout', ?, true), set_config('statement_timeout', ?, true)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserProperties.Archive properties;
+    private final Counter archivedUsers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserArchiveJob(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          UserProperties userProperties,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = userProperties.getArchive();
+        this.archivedUsers = Counter.builder("users.archived")
+                .description("Soft-deleted users moved to users_archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives up to max-batches-per-run batches and returns the number of users moved.
+     * A run that overlaps a previous one returns 0 immediately.
+     */
+    public long run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("User archive run skipped, previous run still active");
+            return 0;
+        }
+
+        try {
+            OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(properties.getRetention());
+            log.info("Starting user archive run, deletedBefore={}, batchSize={}", cutoff, properties.getBatchSize());
+
+            long archived = 0;
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                int moved;
+                try {
+                    moved = archiveBatch(cutoff);
+                } catch (DataAccessException ex) {
+                    // typically a lock or statement timeout; the next run retries from the same rows
+                    log.warn("User archive batch failed, stopping this run, archived={}", archived, ex);
+                    break;
+                }
+
+                archived += moved;
+                archivedUsers.increment(moved);
+
+                if (moved < properties.getBatchSize() || !pause()) {
+                    break;
+                }
+            }
+
+            log.info("User archive run completed, archived={}", archived);
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(OffsetDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList(SET_TIMEOUTS,
+                    millis(properties.getLockTimeout()), millis(properties.getStatementTimeout()));
+            return jdbcTemplate.update(ARCHIVE_BATCH, cutoff, properties.getBatchSize());
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    /**
+     * Sleeps between batches; false when the thread was interrupted, e.g. on shutdown.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String millis(Duration duration) {
+        return duration.toMillis() + "ms";
+    }
+}
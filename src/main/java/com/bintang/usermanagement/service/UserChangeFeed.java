@@ -0,0 +1,389 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserChange;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays the user_outbox to Server-Sent Events subscribers of /api/users/changes.
+ * <p>
+ * Each run first publishes committed outbox rows: under a Postgres advisory lock, so one
+ * instance at a time, it numbers them with the next positions in id order. A user's rows are
+ * inserted while its row lock is held, so they are numbered in commit order. Every instance
+ * then reads the newly published changes once and sends them to its own subscribers, up to
+ * batch-size changes per event, with the last position as the event id.
+ * <p>
+ * A subscriber that resumes from an earlier position first replays from the table on one of
+ * replay-threads threads of its own and only joins the live broadcast once it has caught up, so it sees every change
+ * exactly once and in order. Published changes are deleted after the retention period; a
+ * subscriber resuming from before the oldest one gets a reset event first.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.users.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserChangeFeed implements AutoCloseable {
+
+    static final String RELAY_LOCK = "select pg_try_advisory_xact_lock(?)";
+
+    static final String PUBLISH_BATCH = """
+            update user_outbox o
+            set position = n.last + n.rn
+            from (
+                select id,
+                       row_number() over (order by id) as rn,
+                       (select coalesce(max(position), 0) from user_outbox) as last
+                from user_outbox
+                where position is null
+                order by id
+                limit ?
+            ) n
+            where o.id = n.id
+            """;
+
+    static final String CHANGES_AFTER = """
+            select position, change_type, user_id, name, email, version, created_at
+            from user_outbox
+            where position > ?
+            order by position
+            limit ?
+            """;
+
+    static final String LATEST_POSITION = "select coalesce(max(position), 0) from user_outbox";
+
+    static final String OLDEST_POSITION = "select min(position) from user_outbox";
+
+    /**
+     * Keeps the latest change, so positions never restart after a quiet period.
+     */
+    static final String PRUNE_BATCH = """
+            delete from user_outbox
+            where id in (
+                select id
+                from user_outbox
+                where position < (select max(position) from user_outbox) and created_at < ?
+                order by position
+                limit ?
+            )
+            """;
+
+    /**
+     * Advisory lock key of the relay ("usrchg" in ASCII); any constant unique to this job.
+     */
+    private static final long RELAY_LOCK_KEY = 0x757372636867L;
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private static final RowMapper<UserChange> CHANGE_MAPPER = (rs, rowNum) -> UserChange.builder()
+            .position(rs.getLong("position"))
+            .type(UserChange.Type.valueOf(rs.getString("change_type")))
+            .userId(rs.getLong("user_id"))
+            .name(rs.getString("name"))
+            .email(rs.getString("email"))
+            .version(rs.getLong("version"))
+            .changedAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor replayExecutor;
+    private final UserProperties.Changes properties;
+    private final Counter publishedChanges;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object broadcastLock = new Object();
+
+    // written under broadcastLock, by the relay thread or once by whoever needs it first
+    private long lastBroadcast;
+    private volatile boolean started;
+    // relay thread only
+    private long lastPrune;
+
+    @Autowired
+    public UserChangeFeed(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          UserProperties userProperties,
+                          MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionManager, replayExecutor(userProperties.getChanges().getReplayThreads()),
+                userProperties, meterRegistry);
+    }
+
+    public UserChangeFeed(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          Executor replayExecutor,
+                          UserProperties userProperties,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replayExecutor = replayExecutor;
+        this.properties = userProperties.getChanges();
+        this.publishedChanges = Counter.builder("user.changes.published")
+                .description("Outbox rows numbered and sent to change feed subscribers")
+                .register(meterRegistry);
+        Gauge.builder("user.changes.subscribers", subscribers, Set::size)
+                .description("Open /api/users/changes streams on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of changes after the given position, or of new changes only when it is
+     * null. The returned emitter is filled from another thread.
+     */
+    public SseEmitter subscribe(Long after) {
+        if (after != null && after < 0) {
+            throw new InvalidRequestException("Last-Event-ID", "Last-Event-ID must be a non-negative change position");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after == null ? latestPosition() : after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        log.info("Change feed subscriber connected, after={}", subscriber.cursor);
+        replayExecutor.execute(() -> replay(subscriber, after != null));
+        return emitter;
+    }
+
+    /**
+     * One relay run: publish, broadcast, heartbeat, and now and then prune. A database error
+     * ends the run; the next run continues from the same rows.
+     */
+    public void run() {
+        try {
+            long published = publish();
+            publishedChanges.increment(published);
+            broadcast();
+            heartbeat();
+            pruneIfDue();
+        } catch (DataAccessException ex) {
+            log.warn("User change relay failed, retrying on the next run", ex);
+        }
+    }
+
+    /**
+     * Ends every open stream and replay, e.g. on shutdown; clients reconnect with their last position.
+     */
+    @Override
+    public void close() {
+        if (replayExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Numbers committed outbox rows and returns how many; 0 while another instance holds the lock.
+     */
+    long publish() {
+        Long published = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(RELAY_LOCK, Boolean.class, RELAY_LOCK_KEY))) {
+                return 0L;
+            }
+
+            long total = 0;
+            int batch;
+            do {
+                batch = jdbcTemplate.update(PUBLISH_BATCH, properties.getBatchSize());
+                total += batch;
+            } while (batch == properties.getBatchSize());
+            return total;
+        });
+        return published == null ? 0 : published;
+    }
+
+    private void broadcast() {
+        start();
+        List<UserChange> changes;
+        do {
+            // after start() only this thread moves lastBroadcast, so reading it unlocked is safe
+            changes = changesAfter(lastBroadcast);
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            List<Subscriber> targets;
+            synchronized (broadcastLock) {
+                lastBroadcast = changes.get(changes.size() - 1).getPosition();
+                targets = List.copyOf(subscribers);
+            }
+            for (Subscriber subscriber : targets) {
+                send(subscriber, changes);
+            }
+        } while (changes.size() == properties.getBatchSize());
+    }
+
+    private void replay(Subscriber subscriber, boolean resumed) {
+        try {
+            start();
+            if (resumed) {
+                Long oldest = jdbcTemplate.queryForObject(OLDEST_POSITION, Long.class);
+                if (oldest != null && subscriber.cursor < oldest - 1) {
+                    // changes in between were pruned: the consumer has to reload before applying the rest
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("reset")
+                            .data(Map.of("oldestPosition", oldest), MediaType.APPLICATION_JSON));
+                }
+            }
+
+            while (true) {
+                synchronized (broadcastLock) {
+                    if (subscriber.cursor >= lastBroadcast) {
+                        subscribers.add(subscriber);
+                        return;
+                    }
+                }
+
+                List<UserChange> changes = changesAfter(subscriber.cursor);
+                if (changes.isEmpty()) {
+                    synchronized (broadcastLock) {
+                        subscribers.add(subscriber);
+                    }
+                    return;
+                }
+                subscriber.emitter.send(event(changes));
+                subscriber.cursor = changes.get(changes.size() - 1).getPosition();
+                subscriber.lastSent = System.nanoTime();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.info("Change feed subscriber dropped during replay, at={}", subscriber.cursor, ex);
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    private void send(Subscriber subscriber, List<UserChange> changes) {
+        // a subscriber that joined mid-batch already has the first part
+        List<UserChange> unseen = changes.stream()
+                .filter(change -> change.getPosition() > subscriber.cursor)
+                .toList();
+        if (unseen.isEmpty()) {
+            return;
+        }
+
+        try {
+            subscriber.emitter.send(event(unseen));
+            subscriber.cursor = unseen.get(unseen.size() - 1).getPosition();
+            subscriber.lastSent = System.nanoTime();
+        } catch (IOException | IllegalStateException ex) {
+            // gone or completed; the client reconnects with its Last-Event-ID
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void heartbeat() {
+        long idleSince = System.nanoTime() - properties.getHeartbeat().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.lastSent - idleSince < 0) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                    subscriber.lastSent = System.nanoTime();
+                } catch (IOException | IllegalStateException ex) {
+                    subscribers.remove(subscriber);
+                }
+            }
+        }
+    }
+
+    private void pruneIfDue() {
+        long now = System.nanoTime();
+        if (lastPrune != 0 && now - lastPrune < PRUNE_INTERVAL.toNanos()) {
+            return;
+        }
+        lastPrune = now;
+
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(properties.getRetention());
+        long pruned = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(PRUNE_BATCH, cutoff, properties.getBatchSize());
+            pruned += batch;
+        } while (batch == properties.getBatchSize());
+
+        if (pruned > 0) {
+            log.info("Pruned published user changes, before={}, pruned={}", cutoff, pruned);
+        }
+    }
+
+    /**
+     * Reads where the live broadcast starts on first use, not during startup. Subscribers skip
+     * changes they already have, so any position up to the latest one will do and the query
+     * runs outside the lock.
+     */
+    private void start() {
+        if (started) {
+            return;
+        }
+        long latest = latestPosition();
+        synchronized (broadcastLock) {
+            if (!started) {
+                lastBroadcast = latest;
+                started = true;
+            }
+        }
+    }
+
+    private List<UserChange> changesAfter(long position) {
+        return jdbcTemplate.query(CHANGES_AFTER, CHANGE_MAPPER, position, properties.getBatchSize());
+    }
+
+    private long latestPosition() {
+        Long latest = jdbcTemplate.queryForObject(LATEST_POSITION, Long.class);
+        return latest == null ? 0 : latest;
+    }
+
+    private static ExecutorService replayExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-changes-replay-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder event(List<UserChange> changes) {
+        return SseEmitter.event()
+                .id(String.valueOf(changes.get(changes.size() - 1).getPosition()))
+                .name("changes")
+                .data(changes, MediaType.APPLICATION_JSON);
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        // last position sent; only the replay thread, then only the relay thread, writes it
+        volatile long cursor;
+        volatile long lastSent = System.nanoTime();
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
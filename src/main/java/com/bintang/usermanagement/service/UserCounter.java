@@ -0,0 +1,54 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Page totals for list and search. Exact counts can be cached per filter combination for
+ * app.users.count.exact-cache-ttl; estimates come from the planner and are never cached.
+ */
+@Component
+public class UserCounter {
+
+    private final UserRepository userRepository;
+    private final Cache<List<String>, Long> exactCounts;
+
+    public UserCounter(UserRepository userRepository, UserProperties userProperties) {
+        this.userRepository = userRepository;
+
+        Duration ttl = userProperties.getCount().getExactCacheTtl();
+        this.exactCounts = ttl.isZero() || ttl.isNegative() ? null : Caffeine.newBuilder()
+                .maximumSize(userProperties.getCount().getExactCacheMaximumSize())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long exact(Specification<User> spec, String name, String email) {
+        if (exactCounts == null) {
+            return userRepository.count(spec);
+        }
+        return exactCounts.get(key(name, email), key -> userRepository.count(spec));
+    }
+
+    public long estimate(String name, String email) {
+        return userRepository.estimateCount(name, email);
+    }
+
+    private static List<String> key(String name, String email) {
+        // null and blank filters both mean "no filter"
+        return Arrays.asList(normalize(name), normalize(email));
+    }
+
+    private static String normalize(String term) {
+        return term == null || term.isBlank() ? null : term.toLowerCase();
+    }
+}
@@ -0,0 +1,78 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque keyset position over (sort property, id), encoded as URL-safe base64.
+ */
+record UserCursor(String property, Sort.Direction direction, String value, Long id) {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "email");
+
+    static UserCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new InvalidRequestException("sort", "cursor pagination supports sorting by id, name or email");
+        }
+
+        return new UserCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    static UserCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(",", 4);
+
+            if (parts.length != 4 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+                throw new InvalidRequestException("after", "invalid cursor");
+            }
+
+            return new UserCursor(parts[0], Sort.Direction.fromString(parts[1]), parts[3], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("after", "invalid cursor");
+        }
+    }
+
+    UserCursor next(ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        Object nextValue = isIdOrdered() ? "" : keys.get(property);
+        return new UserCursor(property, direction, String.valueOf(nextValue), ((Number) keys.get("id")).longValue());
+    }
+
+    Sort sort() {
+        Sort sort = Sort.by(direction, property);
+        return isIdOrdered() ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    ScrollPosition toScrollPosition() {
+        if (id == null) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!isIdOrdered()) {
+            keys.put(property, value);
+        }
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    String encode() {
+        String raw = property + "," + direction + "," + id + "," + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean isIdOrdered() {
+        return "id".equals(property);
+    }
+}
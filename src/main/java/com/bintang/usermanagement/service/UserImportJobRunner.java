@@ -0,0 +1,251 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads a spooled CSV upload: rows are validated, streamed into a temporary staging table
+ * with COPY, then merged into users with set-based statements in the same transaction, which
+ * with the change feed enabled also writes a CREATED user_outbox row per inserted user.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportJobRunner {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final CSVFormat INPUT_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private static final String CREATE_STAGING = """
+            create temp table users_import_staging (
+                row_no bigint       not null,
+                name   varchar(255) not null,
+                email  varchar(255) not null
+            ) on commit drop
+            """;
+
+    private static final String COPY_STAGING =
+            "copy users_import_staging (row_no, name, email) from stdin with (format csv)";
+
+    private static final String INDEX_STAGING =
+            "create index on users_import_staging (email, row_no)";
+
+    private static final String SELECT_DUPLICATES = """
+            select s.row_no
+            from users_import_staging s
+            where exists (select 1 from users u where u.email = s.email and u.is_deleted = false)
+               or exists (select 1 from users_import_staging d where d.email = s.email and d.row_no < s.row_no)
+            order by s.row_no
+            limit ?
+            """;
+
+    // ids come straight from users_seq; each nextval reserves a whole Hibernate block,
+    // which leaves gaps but never collides with ids handed out by the application
+    private static final String INSERT_USERS = """
+            insert into users (id, name, email, is_deleted)
+            select nextval('users_seq'), c.name, c.email, false
+            from (
+                select distinct on (email) row_no, name, email
+                from users_import_staging
+                order by email, row_no
+            ) c
+            where not exists (select 1 from users u where u.email = c.email and u.is_deleted = false)
+            order by c.row_no
+            on conflict (email) where is_deleted = false do nothing
+            returning id, name, email, version
+            """;
+
+    private static final String MERGE = """
+            with inserted as (
+            %s)
+            select count(*), min(id), max(id) from inserted
+            """.formatted(INSERT_USERS);
+
+    // as UserRepository.recordChanges, from the inserted rows instead of a second read
+    private static final String MERGE_RECORDING_CHANGES = """
+            with inserted as (
+            %s), recorded as (
+                insert into user_outbox (user_id, change_type, name, email, version)
+                select id, 'CREATED', name, email, version from inserted order by id
+            )
+            select count(*), min(id), max(id) from inserted
+            """.formatted(INSERT_USERS);
+
+    private final DataSource dataSource;
+    private final Validator validator;
+    private final UserProperties userProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Async
+    public void run(ImportJob job) {
+
+        log.info("Starting user import job, id={}", job.getId());
+        job.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING);
+                }
+
+                try (Reader csv = openCsv(job);
+                     Writer copyOut = new BufferedWriter(new OutputStreamWriter(
+                             new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING),
+                             StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                    stage(job, csv, copyOut);
+                }
+
+                job.merging();
+                Optional<UsersImportedEvent> imported = merge(job, connection);
+                connection.commit();
+                // the search and suggest indexes; the catch-up can miss rows of a long import
+                imported.ifPresent(eventPublisher::publishEvent);
+            } catch (Exception ex) {
+                connection.rollback();
+                throw ex;
+            }
+
+            job.complete();
+            log.info("User import job completed, id={}, read={}, inserted={}, duplicate={}, invalid={}",
+                    job.getId(), job.getRowsRead().get(), job.getRowsInserted().get(),
+                    job.getRowsDuplicate().get(), job.getRowsInvalid().get());
+        } catch (Exception ex) {
+            log.error("User import job failed, id={}", job.getId(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(job.getFile());
+            } catch (IOException ex) {
+                log.warn("Could not delete import upload, file={}", job.getFile(), ex);
+            }
+        }
+    }
+
+    /**
+     * Validates every CSV row with the CreateUserRequest rules and writes the valid ones
+     * to {@code copyOut} as (row_no, name, email) CSV records.
+     */
+    public void stage(ImportJob job, Reader csv, Writer copyOut) throws IOException {
+        CSVParser parser = INPUT_FORMAT.parse(csv);
+        CSVPrinter printer = new CSVPrinter(copyOut, CSVFormat.DEFAULT);
+
+        Set<String> header = parser.getHeaderNames().stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        if (!header.contains("name") || !header.contains("email")) {
+            throw new IllegalStateException("CSV header must contain name and email");
+        }
+
+        long row = 0;
+        for (CSVRecord record : parser) {
+            row++;
+            job.getRowsRead().incrementAndGet();
+
+            if (!record.isSet("name") || !record.isSet("email")) {
+                job.getRowsInvalid().incrementAndGet();
+                job.reject(row, "row", "expected name and email columns");
+                continue;
+            }
+
+            CreateUserRequest request = CreateUserRequest.builder()
+                    .name(record.get("name"))
+                    .email(record.get("email"))
+                    .build();
+
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                job.getRowsInvalid().incrementAndGet();
+                for (ConstraintViolation<CreateUserRequest> violation : violations) {
+                    job.reject(row, violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                continue;
+            }
+
+            printer.printRecord(row, request.getName(), request.getEmail());
+            job.getRowsStaged().incrementAndGet();
+        }
+
+        printer.flush();
+    }
+
+    /**
+     * Merges the staged rows into users; returns the id range inserted, if any.
+     */
+    private Optional<UsersImportedEvent> merge(ImportJob job, Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(INDEX_STAGING);
+            statement.execute("analyze users_import_staging");
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_DUPLICATES)) {
+            statement.setInt(1, job.getMaxRejects());
+            try (ResultSet duplicates = statement.executeQuery()) {
+                while (duplicates.next()) {
+                    job.reject(duplicates.getLong(1), "email", "email already exists");
+                }
+            }
+        }
+
+        String merge = userProperties.getChanges().isEnabled() ? MERGE_RECORDING_CHANGES : MERGE;
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(merge)) {
+            result.next();
+            long inserted = result.getLong(1);
+            job.getRowsInserted().set(inserted);
+            job.getRowsDuplicate().set(job.getRowsStaged().get() - inserted);
+            return inserted == 0
+                    ? Optional.empty()
+                    : Optional.of(new UsersImportedEvent(result.getLong(2), result.getLong(3)));
+        }
+    }
+
+    private Reader openCsv(ImportJob job) throws IOException {
+        InputStream in = Files.newInputStream(job.getFile());
+        if (job.isGzip()) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.dto.response.ImportJobResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    ImportJobResponse start(InputStream csv, boolean gzip) throws IOException;
+    ImportJobResponse getJob(String id);
+}
@@ -0,0 +1,57 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.ImportJobResponse;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserImportJobRunner jobRunner;
+    private final UserProperties userProperties;
+    private final Cache<String, ImportJob> jobs;
+
+    public UserImportServiceImpl(UserImportJobRunner jobRunner, UserProperties userProperties) {
+        this.jobRunner = jobRunner;
+        this.userProperties = userProperties;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(userProperties.getBulkImport().getJobRetention())
+                .build();
+    }
+
+    @Override
+    public ImportJobResponse start(InputStream csv, boolean gzip) throws IOException {
+
+        // the upload is spooled first so the request can return while the job runs
+        Path file = Files.createTempFile("users-import-", gzip ? ".csv.gz" : ".csv");
+        long bytes = Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = new ImportJob(file, gzip, userProperties.getBulkImport().getMaxRejects());
+        jobs.put(job.getId(), job);
+
+        log.info("User import job queued, id={}, bytes={}, gzip={}", job.getId(), bytes, gzip);
+
+        jobRunner.run(job);
+        return job.toResponse();
+    }
+
+    @Override
+    public ImportJobResponse getJob(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", "id", id);
+        }
+        return job.toResponse();
+    }
+}
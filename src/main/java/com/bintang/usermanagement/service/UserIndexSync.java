@@ -0,0 +1,241 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the enabled {@link SyncedUserIndex} read models (search index, suggest index) in step
+ * with the users table.
+ * <p>
+ * Writes made through UserService are applied as soon as their transaction commits, by
+ * re-reading the ids from {@link UsersChangedEvent}. The CSV import, whose rows can carry an
+ * updated_at older than the catch-up reaches back, publishes {@link UsersImportedEvent} with the
+ * id range it inserted after commit. Everything else that writes users is picked up by the
+ * periodic catch-up, which re-reads rows whose updated_at is past an index's last synced point.
+ * The first catch-up after startup is the rebuild: an index without a synced point reads the
+ * whole table.
+ * <p>
+ * Both paths run one at a time on a single thread of their own, in the order they were handed
+ * over, and read the committed state, so a later read always wins. Requests and the shared task
+ * executor never wait for an index update.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.users.search.index.enabled:false} or ${app.users.suggest.enabled:false}")
+public class UserIndexSync implements AutoCloseable {
+
+    static final String CHANGED_SINCE =
+            "select id, name, email, version, is_deleted from users where updated_at > ?";
+
+    static final String IN_ID_RANGE =
+            "select id, name, email, version, is_deleted from users where id between ? and ?";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final List<SyncedUserIndex> indexes;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration catchUpOverlap;
+
+    // not a bean: a TaskScheduler bean would become the scheduler of every other job
+    private final ThreadPoolTaskScheduler indexUpdates = new ThreadPoolTaskScheduler();
+
+    public UserIndexSync(List<SyncedUserIndex> indexes,
+                         UserRepository userRepository,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         UserProperties userProperties) {
+        this.indexes = indexes.stream().filter(SyncedUserIndex::isEnabled).toList();
+        this.userRepository = userRepository;
+        // a cursor instead of the whole table in memory on a full rebuild
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(CHUNK_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.catchUpOverlap = userProperties.getIndexSync().getCatchUpOverlap();
+        this.indexUpdates.setThreadNamePrefix("user-index-sync-");
+        this.indexUpdates.initialize();
+    }
+
+    /**
+     * Queued for the index thread: the request has already committed and should not wait for the indexes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUsersChanged(UsersChangedEvent event) {
+        indexUpdates.execute(() -> reindex(event.ids()));
+    }
+
+    /**
+     * Queued for the index thread like a write; the import has committed already.
+     */
+    @EventListener
+    public void onUsersImported(UsersImportedEvent event) {
+        indexUpdates.execute(() -> reindexRange(event.firstId(), event.lastId()));
+    }
+
+    /**
+     * Runs the catch-up on the index thread now, which loads the indexes, then with a fixed delay.
+     */
+    public void startCatchUp(Duration interval) {
+        indexUpdates.scheduleWithFixedDelay(this::catchUp, Instant.now(), interval);
+    }
+
+    /**
+     * Drops queued updates and interrupts a running one, e.g. on shutdown; the next start catches up.
+     */
+    @Override
+    public void close() {
+        indexUpdates.shutdown();
+    }
+
+    /**
+     * Re-reads the given users; ids that are no longer live are removed from the indexes.
+     * A failure is only logged, the next catch-up re-reads the same rows.
+     */
+    void reindex(Collection<Long> ids) {
+        if (ids.isEmpty() || indexes.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<UserResponse> live = userRepository.findAllProjectedById(ids);
+            Set<Long> removed = new HashSet<>(ids);
+            live.forEach(user -> removed.remove(user.getId()));
+
+            for (SyncedUserIndex index : indexes) {
+                index.apply(live, removed);
+            }
+        } catch (IOException | DataAccessException ex) {
+            log.warn("User index update failed, left to the next catch-up, ids={}", ids.size(), ex);
+        }
+    }
+
+    /**
+     * Re-reads every user with an id in the range. An import runs in one transaction, so its rows
+     * carry its start time as updated_at, which a long import leaves further back than the
+     * catch-up overlap reaches. Commits each index at its unchanged synced point, so the rows
+     * survive a restart. A failure is only logged; the rows then need a rebuild of the index.
+     */
+    void reindexRange(long firstId, long lastId) {
+        for (SyncedUserIndex index : indexes) {
+            String name = index.getClass().getSimpleName();
+            try {
+                long[] counts = readOnlyTransaction.execute(status -> applyRows(index, IN_ID_RANGE, firstId, lastId));
+                Optional<Instant> syncedUntil = index.syncedUntil();
+                if (syncedUntil.isPresent()) {
+                    index.commit(syncedUntil.get());
+                }
+                log.info("User index updated after import, index={}, indexed={}, removed={}", name, counts[0], counts[1]);
+            } catch (IOException | UncheckedIOException | DataAccessException ex) {
+                log.warn("User index update after import failed, index={}, firstId={}, lastId={}",
+                        name, firstId, lastId, ex);
+            }
+        }
+    }
+
+    /**
+     * Catches up every enabled index, each from catch-up-overlap before its own synced point,
+     * and commits it with the new synced point. Marks an index ready the first time.
+     */
+    void catchUp() {
+        for (SyncedUserIndex index : indexes) {
+            catchUp(index);
+        }
+    }
+
+    private void catchUp(SyncedUserIndex index) {
+        String name = index.getClass().getSimpleName();
+        OffsetDateTime since = index.syncedUntil()
+                .map(syncedUntil -> syncedUntil.minus(catchUpOverlap).atOffset(ZoneOffset.UTC))
+                .orElse(OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC));
+        log.info("Starting user index catch-up, index={}, changedSince={}", name, since);
+
+        try {
+            long[] counts = readOnlyTransaction.execute(status -> catchUpSince(index, since));
+            index.markReady();
+            log.info("User index catch-up completed, index={}, indexed={}, removed={}", name, counts[0], counts[1]);
+        } catch (UncheckedIOException | DataAccessException ex) {
+            log.warn("User index catch-up failed, retrying on the next run, index={}", name, ex);
+        }
+    }
+
+    private long[] catchUpSince(SyncedUserIndex index, OffsetDateTime since) {
+        // the database clock, like updated_at; taken before the scan so nothing after it is skipped
+        OffsetDateTime syncedUntil = jdbcTemplate.queryForObject("select now()", OffsetDateTime.class);
+        long[] counts = applyRows(index, CHANGED_SINCE, since);
+
+        try {
+            index.commit(syncedUntil.toInstant());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return counts;
+    }
+
+    /**
+     * Applies the users the query returns to the index in chunks; returns indexed, removed.
+     */
+    private long[] applyRows(SyncedUserIndex index, String sql, Object... args) {
+        List<UserResponse> live = new ArrayList<>(CHUNK_SIZE);
+        List<Long> removed = new ArrayList<>();
+        // indexed, removed
+        long[] counts = new long[2];
+
+        jdbcTemplate.query(sql, rs -> {
+            if (rs.getBoolean("is_deleted")) {
+                removed.add(rs.getLong("id"));
+            } else {
+                live.add(UserResponse.builder()
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("name"))
+                        .email(rs.getString("email"))
+                        .version(rs.getLong("version"))
+                        .build());
+            }
+            if (live.size() + removed.size() == CHUNK_SIZE) {
+                flush(index, live, removed, counts);
+            }
+        }, args);
+        flush(index, live, removed, counts);
+        return counts;
+    }
+
+    private static void flush(SyncedUserIndex index, List<UserResponse> live, List<Long> removed, long[] counts) {
+        try {
+            index.apply(live, removed);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        counts[0] += live.size();
+        counts[1] += removed.size();
+        live.clear();
+        removed.clear();
+    }
+}
@@ -0,0 +1,261 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.CharTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Embedded Lucene index of live users' names and emails, for relevance-ranked search that
+ * never touches the database. Both fields are split into letter/digit tokens, lowercased and
+ * ASCII-folded; every query token must match, exactly, as a prefix or within one or two edits,
+ * weighted in that order.
+ * <p>
+ * Kept current by {@link UserIndexSync}. Searches are only served once the first
+ * catch-up from the table has completed; until then, and when the index is disabled,
+ * {@link #isReady()} is false and callers use SQL. Each commit records how far the table has
+ * been synced, so a restart only re-reads recent changes.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex implements SyncedUserIndex, AutoCloseable {
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String NAME = "name";
+    private static final String EMAIL = "email";
+    private static final String VERSION = "version";
+    private static final String SYNCED_UNTIL = "synced-until";
+
+    private static final float EXACT_BOOST = 3f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_LENGTH = 8;
+
+    private static final Sort BY_RELEVANCE =
+            new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG));
+
+    static final Analyzer ANALYZER = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = CharTokenizer.fromTokenCharPredicate(Character::isLetterOrDigit);
+            TokenStream tokens = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, tokens);
+        }
+    };
+
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserProperties userProperties) throws IOException {
+        UserProperties.Search.Index properties = userProperties.getSearch().getIndex();
+        if (!properties.isEnabled()) {
+            this.writer = null;
+            this.searcherManager = null;
+            return;
+        }
+
+        Path path = Path.of(properties.getPath());
+        this.writer = new IndexWriter(FSDirectory.open(path), new IndexWriterConfig(ANALYZER)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("User search index opened, path={}, documents={}", path.toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * True once the index has caught up with the table at least once since startup.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Read from the last commit, so a restart continues where the index left off.
+     */
+    @Override
+    public Optional<Instant> syncedUntil() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (SYNCED_UNTIL.equals(entry.getKey())) {
+                    return Optional.of(Instant.parse(entry.getValue()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Searches see the change right away; it is durable after the next {@link #commit(Instant)}.
+     */
+    @Override
+    public void apply(Collection<UserResponse> live, Collection<Long> removed) throws IOException {
+        for (UserResponse user : live) {
+            writer.updateDocument(new Term(ID, user.getId().toString()), toDocument(user));
+        }
+        if (!removed.isEmpty()) {
+            writer.deleteDocuments(removed.stream()
+                    .map(id -> new Term(ID, id.toString()))
+                    .toArray(Term[]::new));
+        }
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @Override
+    public void commit(Instant syncedUntil) throws IOException {
+        writer.setLiveCommitData(Map.of(SYNCED_UNTIL, syncedUntil.toString()).entrySet());
+        writer.commit();
+    }
+
+    /**
+     * Users matching name and email, best match first, ties by id. Collects offset + limit + 1
+     * hits to tell whether a next page exists; the total is exact only when asked for.
+     */
+    public RankedUsers search(String name, String email, int offset, int limit, boolean exactTotal) throws IOException {
+        Query query = query(name, email);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopFieldDocs top = searcher.search(query, offset + limit + 1, BY_RELEVANCE);
+            StoredFields storedFields = searcher.storedFields();
+
+            List<UserResponse> users = new ArrayList<>(limit);
+            for (int i = offset; i < Math.min(top.scoreDocs.length, offset + limit); i++) {
+                users.add(toResponse(storedFields.document(top.scoreDocs[i].doc)));
+            }
+
+            long total = exactTotal ? searcher.count(query) : top.totalHits.value;
+            return new RankedUsers(users, total, top.scoreDocs.length > offset + limit);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        searcherManager.close();
+        // keeps the synced-until of the last commit: uncommitted changes are re-read on startup
+        writer.close();
+        writer.getDirectory().close();
+    }
+
+    static Query query(String name, String email) throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean byName = addTokens(query, NAME, name);
+        boolean byEmail = addTokens(query, EMAIL, email);
+        return byName || byEmail ? query.build() : new MatchAllDocsQuery();
+    }
+
+    private static boolean addTokens(BooleanQuery.Builder query, String field, String text) throws IOException {
+        if (!StringUtils.hasText(text)) {
+            return false;
+        }
+
+        List<String> tokens = tokens(field, text);
+        for (String token : tokens) {
+            Term term = new Term(field, token);
+            BooleanQuery.Builder anyForm = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(term), EXACT_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(term), PREFIX_BOOST), BooleanClause.Occur.SHOULD);
+            if (token.length() >= FUZZY_MIN_LENGTH) {
+                int maxEdits = token.length() >= FUZZY_TWO_EDITS_LENGTH ? 2 : 1;
+                anyForm.add(new FuzzyQuery(term, maxEdits), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyForm.build(), BooleanClause.Occur.MUST);
+        }
+        return !tokens.isEmpty();
+    }
+
+    private static List<String> tokens(String field, String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = ANALYZER.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private static Document toDocument(UserResponse user) {
+        Document document = new Document();
+        document.add(new StringField(ID, user.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, user.getId()));
+        document.add(new TextField(NAME, user.getName(), Field.Store.YES));
+        document.add(new TextField(EMAIL, user.getEmail(), Field.Store.YES));
+        document.add(new StoredField(VERSION, user.getVersion()));
+        return document;
+    }
+
+    private static UserResponse toResponse(Document document) {
+        return UserResponse.builder()
+                .id(Long.parseLong(document.get(ID)))
+                .name(document.get(NAME))
+                .email(document.get(EMAIL))
+                .version(document.getField(VERSION).numericValue().longValue())
+                .build();
+    }
+
+    /**
+     * One page of ranked users; total is a lower bound unless an exact total was asked for.
+     */
+    public record RankedUsers(List<UserResponse> users, long total, boolean hasNext) {
+    }
+}
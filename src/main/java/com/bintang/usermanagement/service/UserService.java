@@ -1,17 +1,36 @@
 package com.bintang.usermanagement.service;
 
+import com.bintang.usermanagement.dto.request.BulkDeleteUsersRequest;
+import com.bintang.usermanagement.dto.request.BulkUpdateUserItem;
 import com.bintang.usermanagement.dto.request.CreateUserRequest;
 import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BulkOperationResponse;
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
 import com.bintang.usermanagement.dto.response.UserResponse;
-import org.springframework.data.domain.Page;
+import com.bintang.usermanagement.dto.response.UsersByIdsResponse;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     UserResponse create(CreateUserRequest request);
+    BatchCreateUsersResponse createAll(List<CreateUserRequest> requests);
     UserResponse getById(Long id);
-    Page<UserResponse> search(String name, String email, Pageable pageable);
-    Page<UserResponse> getAll(Pageable pageable);
-    UserResponse update(Long id, UpdateUserRequest request);
-    void delete(Long id);
+    UsersByIdsResponse getByIds(List<Long> ids);
+    long getVersion(Long id);
+    Slice<UserResponse> search(String name, String email, Pageable pageable, CountMode countMode);
+    Slice<UserResponse> searchRanked(String name, String email, Pageable pageable, CountMode countMode);
+    List<UserResponse> suggest(String prefix, int limit);
+    Slice<UserResponse> getAll(Pageable pageable, CountMode countMode);
+    CursorPageResponse<UserResponse> scroll(String name, String email, String cursor, int size, Sort sort);
+    UserResponse update(Long id, UpdateUserRequest request, Long expectedVersion);
+    void delete(Long id, Long expectedVersion);
+    BulkOperationResponse deleteAll(BulkDeleteUsersRequest request);
+    BulkOperationResponse updateAll(List<BulkUpdateUserItem> items);
+    long exportAll(Consumer<UserResponse> consumer);
 }
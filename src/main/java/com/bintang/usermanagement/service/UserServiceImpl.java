@@ -1,52 +1,162 @@
 package com.bintang.usermanagement.service;
 
+import com.bintang.usermanagement.config.CacheConfig;
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.BulkDeleteUsersRequest;
+import com.bintang.usermanagement.dto.request.BulkUpdateUserItem;
 import com.bintang.usermanagement.dto.request.CreateUserRequest;
 import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BatchItemResult;
+import com.bintang.usermanagement.dto.response.BulkOperationResponse;
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
+import com.bintang.usermanagement.dto.response.UserChange;
 import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.dto.response.UsersByIdsResponse;
 import com.bintang.usermanagement.entity.User;
-import com.bintang.usermanagement.exception.DuplicateResourceException;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.exception.PreconditionFailedException;
 import com.bintang.usermanagement.exception.ResourceNotFoundException;
 import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.repository.projection.UserSummary;
 import com.bintang.usermanagement.specification.UserSpecification;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "user.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Upper bound for getByIds; matches the GetUsersByIdsRequest size limit.
+     */
+    private static final int MAX_IDS_PER_LOOKUP = 1000;
+
     private final UserRepository userRepository;
+    private final UserProperties userProperties;
+    private final UserCounter userCounter;
+    private final CacheManager cacheManager;
+    private final UserSearchIndex userSearchIndex;
+    private final UserSuggestIndex userSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse create(CreateUserRequest request) {
 
-        log.info("Creating user with email={}", request.getEmail());
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("email", "email already exists");
-        }
+        log.info("Creating user");
 
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
                 .build();
 
-        User savedUser = userRepository.save(user);
-        log.info("User created successfully, id={}, email={}",
-                savedUser.getId(), savedUser.getEmail());
+        // ux_users_email_active rejects duplicates; flush so the violation surfaces here
+        User savedUser = userRepository.saveAndFlush(user);
+        log.info("User created successfully, id={}", savedUser.getId());
+        recordChanged(UserChange.Type.CREATED, List.of(savedUser.getId()));
 
         return mapToResponse(savedUser);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public BatchCreateUsersResponse createAll(List<CreateUserRequest> requests) {
+
+        log.info("Creating users in batch, size={}, batchSize={}",
+                requests.size(), userProperties.getBatchSize());
+
+        Set<String> emails = requests.stream()
+                .map(CreateUserRequest::getEmail)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<User> pendingUsers = new ArrayList<>(userProperties.getBatchSize());
+        List<Integer> pendingIndexes = new ArrayList<>(userProperties.getBatchSize());
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+
+            // add() also rejects emails repeated within the same request
+            if (!takenEmails.add(request.getEmail())) {
+                results[i] = BatchItemResult.duplicate(i);
+                continue;
+            }
+
+            pendingUsers.add(User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .build());
+            pendingIndexes.add(i);
+
+            if (pendingUsers.size() == userProperties.getBatchSize()) {
+                insertBatch(pendingUsers, pendingIndexes, results);
+            }
+        }
+        insertBatch(pendingUsers, pendingIndexes, results);
+
+        List<Long> createdIds = Arrays.stream(results)
+                .filter(result -> result.getUser() != null)
+                .map(result -> result.getUser().getId())
+                .toList();
+        int created = createdIds.size();
+        recordChanged(UserChange.Type.CREATED, createdIds);
+
+        log.info("Batch creation completed, created={}, failed={}",
+                created, requests.size() - created);
+
+        return BatchCreateUsersResponse.builder()
+                .created(created)
+                .failed(requests.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Not read-only, so the lookup runs on the primary even with replica routing: whatever it
+     * reads stays in the cache for the full TTL, and a row read from a lagging replica would
+     * keep serving the old state long after the replica caught up. Only misses reach the database.
+     */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    @Coalesced
     public UserResponse getById(Long id) {
 
         log.info("Fetching user by id={}", id);
@@ -54,83 +164,444 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
-        log.info("User found, id={}, email={}", user.getId(), user.getEmail());
+        log.info("User found, id={}", user.getId());
 
         return mapToResponse(user);
     }
 
+    /**
+     * Serves what it can from the getById cache and loads the rest with one query, caching
+     * what it loaded. Puts go through the transaction-aware cache, so they land after commit.
+     * Like {@link #getById}, it fills the cache and so reads from the primary.
+     */
+    @Override
+    @Transactional
+    public UsersByIdsResponse getByIds(List<Long> ids) {
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS_PER_LOOKUP) {
+            throw new InvalidRequestException("ids", "between 1 and " + MAX_IDS_PER_LOOKUP + " ids are required");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        log.info("Fetching users by ids, requested={}", requested.size());
+
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        Map<Long, UserResponse> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+
+        for (Long id : requested) {
+            UserResponse cached = cache != null ? cache.get(id, UserResponse.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (UserResponse user : userRepository.findAllProjectedById(uncached)) {
+                found.put(user.getId(), user);
+                if (cache != null) {
+                    cache.put(user.getId(), user);
+                }
+            }
+        }
+
+        List<UserResponse> users = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            UserResponse user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        log.info("Fetched users by ids, found={}, fromCache={}, missing={}",
+                users.size(), requested.size() - uncached.size(), missing.size());
+
+        return UsersByIdsResponse.builder()
+                .users(users)
+                .missing(missing)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponse> search(String name, String email, Pageable pageable) {
+    public long getVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
 
-        log.info("Searching users with filters name={}, email={}, page={}, size={}",
-                name, email, pageable.getPageNumber(), pageable.getPageSize());
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    public Slice<UserResponse> search(String name, String email, Pageable pageable, CountMode countMode) {
 
-        Specification<User> spec = UserSpecification.filter(name, email);
-        Page<UserResponse> result = userRepository.findAll(spec, pageable).map(this::mapToResponse);
+        log.info("Searching users with filters name={}, email={}, page={}, size={}, count={}",
+                name, email, pageable.getPageNumber(), pageable.getPageSize(), countMode);
+
+        name = searchTerm("name", name);
+        email = searchTerm("email", email);
 
-        log.info("Search completed, totalElements={}", result.getTotalElements());
+        Slice<UserResponse> result = findPage(name, email, pageable, countMode);
+
+        log.info("Search completed, returned={}", result.getNumberOfElements());
 
         return result;
     }
 
+    /**
+     * Served from the search index without a connection; only falls back to the SQL search,
+     * outside a transaction, while the index is disabled, catching up or failing.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<UserResponse> searchRanked(String name, String email, Pageable pageable, CountMode countMode) {
+
+        log.info("Searching users by relevance with filters name={}, email={}, page={}, size={}, count={}",
+                name, email, pageable.getPageNumber(), pageable.getPageSize(), countMode);
+
+        name = searchTerm("name", name);
+        email = searchTerm("email", email);
+
+        int maxResultWindow = userProperties.getSearch().getIndex().getMaxResultWindow();
+        if (pageable.getOffset() + pageable.getPageSize() > maxResultWindow) {
+            throw new InvalidRequestException("page", "relevance search ranks only the first " + maxResultWindow + " results");
+        }
+
+        if (userSearchIndex.isReady()) {
+            try {
+                UserSearchIndex.RankedUsers ranked = userSearchIndex.search(name, email,
+                        (int) pageable.getOffset(), pageable.getPageSize(), countMode == CountMode.EXACT);
+
+                log.info("Relevance search completed, returned={}", ranked.users().size());
+
+                return countMode == CountMode.NONE
+                        ? new SliceImpl<>(ranked.users(), pageable, ranked.hasNext())
+                        : new PageImpl<>(ranked.users(), pageable, ranked.total());
+            } catch (IOException ex) {
+                log.warn("Search index query failed, falling back to SQL search", ex);
+            }
+        } else {
+            log.info("Search index not ready, falling back to SQL search");
+        }
+
+        return findPage(name, email, pageable, countMode);
+    }
+
+    /**
+     * Type-ahead from the in-memory prefix index; while it loads, or when it is disabled, from
+     * a prefix LIKE query, which needs a full trigram to use an index and so a longer prefix.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<UserResponse> suggest(String prefix, int limit) {
+
+        int maxLimit = userProperties.getSuggest().getMaxLimit();
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidRequestException("limit", "limit must be between 1 and " + maxLimit);
+        }
+        if (!StringUtils.hasText(prefix)) {
+            throw new InvalidRequestException("prefix", "prefix is required");
+        }
+
+        // every keystroke lands here, so only debug logging
+        if (userSuggestIndex.isReady()) {
+            log.debug("Suggesting users from the index, prefix={}, limit={}", prefix, limit);
+            return userSuggestIndex.suggest(prefix, limit);
+        }
+
+        String term = prefix.strip();
+        if (term.length() < userProperties.getSearch().getMinTermLength()) {
+            log.debug("Suggest index not ready and prefix too short for SQL, prefix={}", prefix);
+            return List.of();
+        }
+
+        log.debug("Suggest index not ready, suggesting users with SQL, prefix={}, limit={}", prefix, limit);
+        return userRepository.findByPrefix(term, limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponse> getAll(Pageable pageable) {
+    public Slice<UserResponse> getAll(Pageable pageable, CountMode countMode) {
 
-        log.info("Fetching all users, page={}, size={}",
-                pageable.getPageNumber(), pageable.getPageSize());
+        log.info("Fetching all users, page={}, size={}, count={}",
+                pageable.getPageNumber(), pageable.getPageSize(), countMode);
 
-        Page<UserResponse> result = userRepository.findAll(pageable).map(this::mapToResponse);
+        Slice<UserResponse> result = findPage(null, null, pageable, countMode);
 
-        log.info("Fetched users successfully, totalElements={}",
-                result.getTotalElements());
+        log.info("Fetched users successfully, returned={}",
+                result.getNumberOfElements());
 
         return result;
     }
 
     @Override
-    public UserResponse update(Long id, UpdateUserRequest request) {
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> scroll(String name, String email, String cursor, int size, Sort sort) {
 
-        log.info("Starting update user process, id={}", id);
+        log.info("Scrolling users with filters name={}, email={}, size={}", name, email, size);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        name = searchTerm("name", name);
+        email = searchTerm("email", email);
 
-        if(userRepository.existsByEmailAndIdNot(request.getEmail(), id)){
-            throw new DuplicateResourceException("email", "email already exists");
-        }
+        UserCursor position = cursor == null || cursor.isBlank()
+                ? UserCursor.first(sort)
+                : UserCursor.decode(cursor);
+
+        Specification<User> spec = UserSpecification.filter(name, email);
+        Window<User> window = userRepository.findBy(spec, query -> query
+                .sortBy(position.sort())
+                .limit(size)
+                .scroll(position.toScrollPosition()));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? position.next(window.positionAt(window.size() - 1)).encode()
+                : null;
+
+        log.info("Scroll completed, returned={}, hasNext={}", window.size(), window.hasNext());
+
+        return CursorPageResponse.<UserResponse>builder()
+                .content(window.map(UserServiceImpl::mapToResponse).getContent())
+                .size(size)
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserResponse update(Long id, UpdateUserRequest request, Long expectedVersion) {
+
+        log.info("Starting update user process, id={}, expectedVersion={}", id, expectedVersion);
 
-        user.setName(request.getName());
-        user.setEmail(request.getEmail());
+        Optional<UserSummary> result = expectedVersion == null
+                ? userRepository.updateReturning(id, request.getName(), request.getEmail())
+                : userRepository.updateReturning(id, request.getName(), request.getEmail(), expectedVersion);
 
-        User updatedUser = userRepository.save(user);
+        UserSummary updatedUser = result.orElseThrow(() -> notUpdated(id, expectedVersion));
 
-        log.info("User updated successfully, id={}, email={}",
-                updatedUser.getId(), updatedUser.getEmail());
+        log.info("User updated successfully, id={}", updatedUser.getId());
+        recordChanged(UserChange.Type.UPDATED, List.of(id));
 
         return mapToResponse(updatedUser);
     }
 
     @Override
-    public void delete(Long id) {
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public void delete(Long id, Long expectedVersion) {
 
-        log.info("Starting delete user process, id={}", id);
+        log.info("Starting delete user process, id={}, expectedVersion={}", id, expectedVersion);
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User", id, expectedVersion);
+        }
         user.setDeleted(true);
+        user.setDeletedAt(Instant.now());
 
-        userRepository.save(user);
+        // flushed so the outbox row below reads the deleted state
+        userRepository.saveAndFlush(user);
 
         log.info("User deleted (soft delete) successfully, id={}", id);
+        recordChanged(UserChange.Type.DELETED, List.of(id));
+    }
+
+    @Override
+    public BulkOperationResponse deleteAll(BulkDeleteUsersRequest request) {
+
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = StringUtils.hasText(request.getName()) || StringUtils.hasText(request.getEmail());
+        if (byIds == byFilter) {
+            throw new InvalidRequestException("ids", "provide either ids or a name/email filter");
+        }
+
+        int chunkSize = userProperties.getBulk().getChunkSize();
+        List<Long> deletedIds = new ArrayList<>();
+        Integer requested = null;
+
+        if (byIds) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            requested = ids.size();
+            log.info("Starting bulk delete by ids, requested={}, chunkSize={}", requested, chunkSize);
+
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                deletedIds.addAll(userRepository.softDeleteAllById(
+                        ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+            }
+        } else {
+            String name = searchTerm("name", request.getName());
+            String email = searchTerm("email", request.getEmail());
+            log.info("Starting bulk delete by filter, name={}, email={}, chunkSize={}", name, email, chunkSize);
+
+            List<Long> chunk;
+            do {
+                chunk = userRepository.softDeleteMatching(name, email, chunkSize);
+                deletedIds.addAll(chunk);
+            } while (chunk.size() == chunkSize);
+        }
+
+        evictUsers(deletedIds);
+        recordChanged(UserChange.Type.DELETED, deletedIds);
+        log.info("Bulk delete completed, affected={}", deletedIds.size());
+
+        return BulkOperationResponse.builder()
+                .requested(requested)
+                .affected(deletedIds.size())
+                .build();
+    }
+
+    @Override
+    public BulkOperationResponse updateAll(List<BulkUpdateUserItem> items) {
+
+        int chunkSize = userProperties.getBulk().getChunkSize();
+        log.info("Starting bulk update, requested={}, chunkSize={}", items.size(), chunkSize);
+
+        Set<Long> ids = new HashSet<>();
+        for (BulkUpdateUserItem item : items) {
+            if (!ids.add(item.getId())) {
+                throw new InvalidRequestException("users", "id " + item.getId() + " appears more than once");
+            }
+            if (item.getName() == null && item.getEmail() == null) {
+                throw new InvalidRequestException("users", "id " + item.getId() + " has no fields to update");
+            }
+        }
+
+        // one transaction: an email clash in any chunk rolls back the whole request
+        List<Long> updatedIds = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            updatedIds.addAll(userRepository.updateAll(
+                    items.subList(from, Math.min(from + chunkSize, items.size()))));
+        }
+
+        evictUsers(updatedIds);
+        recordChanged(UserChange.Type.UPDATED, updatedIds);
+        log.info("Bulk update completed, affected={}", updatedIds.size());
+
+        return BulkOperationResponse.builder()
+                .requested(items.size())
+                .affected(updatedIds.size())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<UserResponse> consumer) {
+
+        log.info("Starting export of all users");
+
+        AtomicLong exported = new AtomicLong();
+        try (Stream<UserSummary> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(mapToResponse(user));
+                exported.incrementAndGet();
+            });
+        }
+
+        log.info("Export completed, exported={}", exported.get());
+
+        return exported.get();
+    }
+
+    private Slice<UserResponse> findPage(String name, String email, Pageable pageable, CountMode countMode) {
+        Specification<User> spec = UserSpecification.filter(name, email);
+
+        return switch (countMode) {
+            case EXACT -> userRepository.findAllProjected(spec, pageable,
+                    () -> userCounter.exact(spec, name, email));
+            // an estimate below what this page already proves would contradict the content
+            case ESTIMATE -> userRepository.findAllProjected(spec, pageable,
+                    () -> Math.max(userCounter.estimate(name, email), pageable.getOffset() + pageable.getPageSize()));
+            case NONE -> userRepository.findAllProjectedSlice(spec, pageable);
+        };
+    }
+
+    /**
+     * The term a filter searches for: stripped, or null when blank. The length check runs on
+     * the stripped term, so what is validated is exactly what is searched.
+     */
+    private String searchTerm(String field, String term) {
+        if (!StringUtils.hasText(term)) {
+            return null;
+        }
+
+        String stripped = term.strip();
+        int minLength = userProperties.getSearch().getMinTermLength();
+        if (stripped.length() < minLength) {
+            throw new InvalidRequestException(field, field + " must be at least " + minLength + " characters");
+        }
+        return stripped;
+    }
+
+    /**
+     * Evicts users changed by set-based statements. The cache is transaction-aware, so the
+     * evictions run after commit and a rolled back request leaves the cache untouched.
+     */
+    private void evictUsers(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(cache::evict);
+    }
+
+    /**
+     * Records the users this transaction wrote in the outbox, committed or rolled back with
+     * the write itself, and tells listeners such as the search index after commit. Without the
+     * change feed nothing relays or prunes the outbox, so it is not written.
+     */
+    private void recordChanged(UserChange.Type type, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            if (userProperties.getChanges().isEnabled()) {
+                userRepository.recordChanges(type, ids);
+            }
+            eventPublisher.publishEvent(new UsersChangedEvent(ids));
+        }
+    }
+
+    /**
+     * A conditional update that matched nothing: tell a stale version apart from a missing user.
+     */
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.findVersionById(id).isPresent()) {
+            return new PreconditionFailedException("User", id, expectedVersion);
+        }
+        return new ResourceNotFoundException("User", "id", id);
+    }
+
+    private void insertBatch(List<User> pendingUsers, List<Integer> pendingIndexes, BatchItemResult[] results) {
+        if (pendingUsers.isEmpty()) {
+            return;
+        }
+
+        List<User> savedUsers = userRepository.saveAllAndFlush(new ArrayList<>(pendingUsers));
+        for (int i = 0; i < savedUsers.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = BatchItemResult.created(index, mapToResponse(savedUsers.get(i)));
+        }
+
+        pendingUsers.clear();
+        pendingIndexes.clear();
+    }
+
+    static UserResponse mapToResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build();
     }
 
-    private UserResponse mapToResponse(User user) {
+    static UserResponse mapToResponse(UserSummary user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
+                .version(user.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,84 @@
+package com.bintang.usermanagement.service;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Type-ahead over live users' names and emails from a {@link PrefixIndex} held in memory.
+ * Nothing is persisted: the first catch-up of {@link UserIndexSync} after startup loads the
+ * whole table, and until it completes {@link #isReady()} is false and callers use SQL.
+ * Size and heap are exported as user.suggest.index.users and user.suggest.index.bytes.
+ */
+@Component
+public class UserSuggestIndex implements SyncedUserIndex {
+
+    private final PrefixIndex prefixIndex = new PrefixIndex();
+    private final boolean enabled;
+    private volatile Instant syncedUntil;
+    private volatile boolean ready;
+
+    public UserSuggestIndex(UserProperties userProperties, MeterRegistry meterRegistry) {
+        this.enabled = userProperties.getSuggest().isEnabled();
+
+        Gauge.builder("user.suggest.index.users", prefixIndex, PrefixIndex::size)
+                .description("Live users in the in-memory suggest index")
+                .register(meterRegistry);
+        Gauge.builder("user.suggest.index.bytes", prefixIndex, PrefixIndex::memoryBytes)
+                .description("Heap held by the in-memory suggest index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public Optional<Instant> syncedUntil() {
+        return Optional.ofNullable(syncedUntil);
+    }
+
+    @Override
+    public void apply(Collection<UserResponse> live, Collection<Long> removed) {
+        live.forEach(user -> prefixIndex.put(user.getId(), user.getName(), user.getEmail()));
+        removed.forEach(prefixIndex::remove);
+    }
+
+    @Override
+    public void commit(Instant syncedUntil) {
+        this.syncedUntil = syncedUntil;
+    }
+
+    /**
+     * Users whose name, a later word of the name, or email starts with the prefix. The index
+     * keeps no version, so it is absent from the results.
+     */
+    public List<UserResponse> suggest(String prefix, int limit) {
+        return prefixIndex.suggest(prefix, limit).stream()
+                .map(suggestion -> UserResponse.builder()
+                        .id(suggestion.id())
+                        .name(suggestion.name())
+                        .email(suggestion.email())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.bintang.usermanagement.service;
+
+import java.util.Collection;
+
+/**
+ * Published by UserService for every write, with the ids it created, changed or deleted.
+ * Listeners that need the committed state should listen after commit.
+ */
+public record UsersChangedEvent(Collection<Long> ids) {
+}
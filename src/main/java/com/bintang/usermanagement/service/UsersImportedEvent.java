@@ -0,0 +1,8 @@
+package com.bintang.usermanagement.service;
+
+/**
+ * Published by the CSV import after its commit, with the lowest and highest id it inserted.
+ * The range can also hold users written by others meanwhile; re-reading them is harmless.
+ */
+public record UsersImportedEvent(long firstId, long lastId) {
+}
@@ -3,28 +3,35 @@ package com.bintang.usermanagement.specification;
 import com.bintang.usermanagement.entity.User;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class UserSpecification {
 
+    private static final char ESCAPE_CHAR = '\\';
+
+    /**
+     * Substring filter on lower(name) / lower(email). The predicate shape matches the
+     * pg_trgm GIN expression indexes, so terms of three or more characters are index scans.
+     */
     public static Specification<User> filter(String name, String email) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.isFalse(root.get("isDeleted")));
 
-            if (name != null) {
+            if (StringUtils.hasText(name)) {
                 predicates.add(
                         cb.like(cb.lower(root.get("name")),
-                                "%" + name.toLowerCase() + "%")
+                                containsPattern(name), ESCAPE_CHAR)
                 );
             }
 
-            if (email != null) {
+            if (StringUtils.hasText(email)) {
                 predicates.add(
                         cb.like(cb.lower(root.get("email")),
-                                "%" + email.toLowerCase() + "%")
+                                containsPattern(email), ESCAPE_CHAR)
                 );
             }
 
@@ -32,4 +39,19 @@ public class UserSpecification {
 
         };
     }
+
+    public static String containsPattern(String term) {
+        return "%" + escape(term) + "%";
+    }
+
+    public static String prefixPattern(String term) {
+        return escape(term) + "%";
+    }
+
+    private static String escape(String term) {
+        return term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
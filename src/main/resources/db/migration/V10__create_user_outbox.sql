@@ -0,0 +1,19 @@
+-- Transactional outbox for the user change feed. UserServiceImpl inserts a row per changed
+-- user in the same transaction as the write; the relay then numbers committed rows with a
+-- gap-free position, in id order, which is the offset consumers resume from. Rows are
+-- deleted once past the retention period.
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id          BIGSERIAL    PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    change_type VARCHAR(16)  NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    version     BIGINT       NOT NULL,
+    created_at  timestamptz  NOT NULL DEFAULT now(),
+    position    BIGINT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_outbox_position ON user_outbox (position);
+
+-- The relay's work queue: small, since rows leave it within a relay interval.
+CREATE INDEX IF NOT EXISTS idx_user_outbox_unpublished ON user_outbox (id) WHERE position IS NULL;
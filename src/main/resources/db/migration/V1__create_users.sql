@@ -0,0 +1,33 @@
+-- Baseline schema. Written to be idempotent so it also applies cleanly to databases
+-- previously managed by hibernate ddl-auto=update.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    is_deleted BOOLEAN      NOT NULL DEFAULT FALSE,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Hibernate generated a random name for the email unique constraint; give it a stable one.
+DO $$
+DECLARE
+    existing_name TEXT;
+BEGIN
+    SELECT con.conname INTO existing_name
+    FROM pg_constraint con
+    JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+    WHERE con.conrelid = 'users'::regclass
+      AND con.contype = 'u'
+      AND array_length(con.conkey, 1) = 1
+      AND att.attname = 'email';
+
+    IF existing_name IS NOT NULL AND existing_name <> 'uk_users_email' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email', existing_name);
+    END IF;
+END $$;
+
+-- Move the sequence past ids issued by the former IDENTITY column.
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), 1));
@@ -0,0 +1,2 @@
+-- Requires a role allowed to create extensions (or pg_trgm pre-installed by the DBA).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
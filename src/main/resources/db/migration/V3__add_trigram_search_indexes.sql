@@ -0,0 +1,8 @@
+-- Serve lower(name) LIKE '%term%' and lower(email) LIKE '%term%' from GIN trigram indexes.
+-- CONCURRENTLY keeps the table writable while the indexes build; Flyway runs these
+-- statements outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_name_trgm
+    ON users USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm
+    ON users USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Optimistic-locking version, also the source of user ETags. Every write bumps it.
+-- A constant default is a metadata-only change on PostgreSQL 11+, so no table rewrite.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
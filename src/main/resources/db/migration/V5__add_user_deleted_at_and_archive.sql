@@ -0,0 +1,18 @@
+-- When a user was soft-deleted; the archive job moves rows past the retention period.
+-- Rows deleted before this column existed start their retention period now.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at timestamptz;
+
+UPDATE users SET deleted_at = now() WHERE is_deleted AND deleted_at IS NULL;
+
+-- Soft-deleted users moved out of the hot table. Not unique on email: an address
+-- can be registered, deleted and archived more than once.
+CREATE TABLE IF NOT EXISTS users_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    version     BIGINT       NOT NULL,
+    deleted_at  timestamptz  NOT NULL,
+    archived_at timestamptz  NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_archive_email ON users_archive (email);
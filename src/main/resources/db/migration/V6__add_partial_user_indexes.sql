@@ -0,0 +1,19 @@
+-- Index only live users: every query filters on is_deleted = false, so dead rows only
+-- bloat the indexes. The partial unique index also frees the email of a deleted user.
+-- CONCURRENTLY keeps the table writable; Flyway runs these statements outside a transaction.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_users_email_active
+    ON users (email) WHERE is_deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_name_trgm_active
+    ON users USING gin (lower(name) gin_trgm_ops) WHERE is_deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm_active
+    ON users USING gin (lower(email) gin_trgm_ops) WHERE is_deleted = false;
+
+-- Archive job: oldest soft-deleted rows first.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_deleted_at
+    ON users (deleted_at, id) WHERE is_deleted = true;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_name_trgm;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_email_trgm;
@@ -0,0 +1,4 @@
+-- Superseded by ux_users_email_active (V6). Dropping the constraint drops its index;
+-- it only needs a brief exclusive lock. Kept apart from V6, whose statements cannot
+-- share a transaction with this one.
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_email;
@@ -0,0 +1,18 @@
+-- When a row last changed, soft deletes included. The search index catches up from it,
+-- so every write path (JPA, set-based updates, the COPY import) must bump it: a trigger
+-- does that regardless of the statement. now() is not volatile, so adding the column
+-- does not rewrite the table.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at timestamptz NOT NULL DEFAULT now();
+
+CREATE OR REPLACE FUNCTION users_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_touch_updated_at ON users;
+
+CREATE TRIGGER trg_users_touch_updated_at
+    BEFORE INSERT OR UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION users_touch_updated_at();
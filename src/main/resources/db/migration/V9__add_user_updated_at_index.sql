@@ -0,0 +1,4 @@
+-- Search index catch-up: rows changed since the last synced point, deleted ones included.
+-- CONCURRENTLY keeps the table writable; Flyway runs this statement outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_updated_at
+    ON users (updated_at);
@@ -0,0 +1,54 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.ConnectionGateDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionGateDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    void getConnection_waitsForPermit_andTimesOut() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(pool, 1, 50);
+
+        Connection first = gate.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+        verify(pool, times(1)).getConnection();
+
+        first.close();
+        assertEquals(1, gate.getAvailablePermits());
+    }
+
+    @Test
+    void close_releasesPermitOnlyOnce() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(pool, 2, 50);
+
+        Connection gated = gate.getConnection();
+        gated.close();
+        gated.close();
+
+        assertEquals(2, gate.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void failedBorrow_returnsPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(pool, 1, 50);
+
+        assertThrows(SQLException.class, gate::getConnection);
+        assertEquals(1, gate.getAvailablePermits());
+    }
+}
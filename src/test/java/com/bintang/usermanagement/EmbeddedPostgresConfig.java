@@ -0,0 +1,121 @@
+package com.bintang.usermanagement;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Datasource on an embedded PostgreSQL for tests that need the real schema, triggers and
+ * transactions. The server is started once per test JVM; Flyway migrates it as it would the
+ * application database. Use with {@code @AutoConfigureTestDatabase(replace = NONE)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class EmbeddedPostgresConfig {
+
+    private static EmbeddedPostgres postgres;
+
+    @Bean
+    StatementCountingDataSource dataSource() {
+        return new StatementCountingDataSource(server().getPostgresDatabase());
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the embedded PostgreSQL", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException e) {
+                    // the JVM is exiting anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+
+    /**
+     * Records statements sent to the database, whoever sends them: Hibernate, JdbcTemplate or
+     * plain JDBC. A JDBC batch is recorded once, as it goes out in one execution.
+     */
+    static class StatementCountingDataSource extends DelegatingDataSource {
+
+        private static final Set<String> EXECUTIONS = Set.of(
+                "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+        private final List<String> executed = new CopyOnWriteArrayList<>();
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        long executed() {
+            return executed.size();
+        }
+
+        /**
+         * SQL of every statement executed since the last reset, in order.
+         */
+        List<String> statements() {
+            return List.copyOf(executed);
+        }
+
+        void reset() {
+            executed.clear();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(Connection.class, super.getConnection(), null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(Connection.class, super.getConnection(username, password), null);
+        }
+
+        /**
+         * Proxies a connection, and the statements it creates, as the JDBC interface the
+         * caller asked for. Prepared statements remember their SQL.
+         */
+        private <T> T counting(Class<T> type, Object target, String preparedSql) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (target instanceof Statement && EXECUTIONS.contains(method.getName())) {
+                    executed.add(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+                }
+                if (target instanceof Connection && result instanceof Statement
+                        && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return counting(method.getReturnType(), result,
+                            args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+                }
+                return result;
+            }));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
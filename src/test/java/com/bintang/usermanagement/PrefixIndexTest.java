@@ -0,0 +1,70 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.service.PrefixIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1L, "Anna Lee", "anna.lee@mail.com");
+        index.put(2L, "Ann Lee", "ann@mail.com");
+        index.put(3L, "Bintang Mada", "bintang@mail.com");
+    }
+
+    @Test
+    void suggest_matchesNameWordsAndEmailIgnoringCase() {
+        assertEquals(List.of(2L, 1L), ids(index.suggest("ANN", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.suggest("lee", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("mada", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("anna.l", 10)));
+        assertEquals(List.of(), ids(index.suggest("ee", 10)));
+    }
+
+    @Test
+    void suggest_returnsEachUserOnceUpToLimit() {
+        // "anna" matches user 1 by name and by email
+        assertEquals(List.of(1L), ids(index.suggest("anna", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("ann", 1)));
+        assertEquals(List.of(), index.suggest("  ", 10));
+    }
+
+    @Test
+    void put_replacesAndRemoveHidesUser() {
+        index.put(1L, "Anna Smith", "anna.smith@mail.com");
+        index.remove(2L);
+
+        assertEquals(List.of(1L), ids(index.suggest("smith", 10)));
+        assertEquals(List.of(), ids(index.suggest("lee", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void suggest_sameResultsAfterMerge() {
+        for (long id = 100; id < 20_100; id++) {
+            index.put(id, "User " + id, "user" + id + "@mail.com");
+        }
+        index.remove(3L);
+        index.put(1L, "Anna Smith", "anna.smith@mail.com");
+
+        assertEquals(20_002, index.size());
+        assertEquals(List.of(2L), ids(index.suggest("lee", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("smith", 10)));
+        assertEquals(List.of(), ids(index.suggest("bintang", 10)));
+        assertEquals(List.of(12345L), ids(index.suggest("user12345@", 10)));
+        assertEquals(5, index.suggest("user 1", 5).size());
+        assertTrue(index.memoryBytes() > 0);
+    }
+
+    private static List<Long> ids(List<PrefixIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(PrefixIndex.Suggestion::id).toList();
+    }
+}
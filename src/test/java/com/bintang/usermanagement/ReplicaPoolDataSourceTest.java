@@ -0,0 +1,111 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.ReadYourWrites;
+import com.bintang.usermanagement.config.ReplicaPoolDataSource;
+import com.bintang.usermanagement.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+class ReplicaPoolDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica0 = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica0Connection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaPoolDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica0.getConnection()).thenReturn(replica0Connection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ZERO);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica0);
+        replicas.put("replica-1", replica1);
+        dataSource = new ReplicaPoolDataSource(primary, replicas, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void getConnection_roundRobinsOverReplicas() throws SQLException {
+        assertSame(replica0Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica0Connection, dataSource.getConnection());
+
+        verify(primary, never()).getConnection();
+        assertEquals(2.0, meterRegistry.counter("datasource.reads", "pool", "replica-0").count());
+    }
+
+    @Test
+    void getConnection_failingReplica_isEjectedAndSkipped() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+
+        verify(replica0, times(1)).getConnection();
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-0").gauge().value());
+    }
+
+    @Test
+    void getConnection_noHealthyReplica_fallsBackToPrimary() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1.0, meterRegistry.counter("datasource.reads", "pool", "primary").count());
+    }
+
+    @Test
+    void getConnection_pinnedAfterWrite_usesPrimary() throws SQLException {
+        ReadYourWrites.pin();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        verify(replica0, never()).getConnection();
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void checkHealth_readmitsRecoveredReplica() throws SQLException {
+        when(replica0.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(replica0Connection);
+        when(replica0Connection.isValid(anyInt())).thenReturn(true);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+
+        dataSource.getConnection();
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-0").gauge().value());
+
+        dataSource.checkHealth();
+
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-0").gauge().value());
+    }
+}
@@ -0,0 +1,50 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.RequestStatistics;
+import com.bintang.usermanagement.config.RequestStatisticsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestStatisticsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestStatisticsFilter filter = new RequestStatisticsFilter(meterRegistry);
+
+    @Test
+    void doFilter_recordsStatementsAndEntityLoadsPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        RequestStatistics.StatementCounter statementCounter = new RequestStatistics.StatementCounter();
+        RequestStatistics.EntityLoadListener entityLoadListener = new RequestStatistics.EntityLoadListener();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+            statementCounter.inspect("select 1");
+            statementCounter.inspect("select 2");
+            entityLoadListener.onPostLoad(new Object());
+        });
+
+        DistributionSummary statements = meterRegistry.get("hibernate.request.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/users/{id}")
+                .summary();
+        DistributionSummary loads = meterRegistry.get("hibernate.request.entity.loads").summary();
+
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, loads.totalAmount());
+    }
+
+    @Test
+    void inspect_outsideRequest_isNotCounted() {
+        String sql = new RequestStatistics.StatementCounter().inspect("select 1");
+
+        assertEquals("select 1", sql);
+        assertEquals(0, RequestStatistics.stop().getStatements());
+    }
+}
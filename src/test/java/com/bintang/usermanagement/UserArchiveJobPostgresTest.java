@@ -0,0 +1,57 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.service.UserArchiveJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The archive statement itself, against PostgreSQL: every row it deletes must land in
+ * users_archive.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmbeddedPostgresConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserArchiveJobPostgresTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void run_idAlreadyArchived_archivesTheLaterState() {
+        jdbcTemplate.update("""
+                insert into users_archive (id, name, email, version, deleted_at)
+                values (900001, 'First Life', 'first@mail.com', 0, now() - interval '400 days')
+                """);
+        jdbcTemplate.update("""
+                insert into users (id, name, email, version, is_deleted, deleted_at)
+                values (900001, 'Second Life', 'second@mail.com', 3, true, now() - interval '60 days')
+                """);
+
+        long archived = new UserArchiveJob(jdbcTemplate, transactionManager, new UserProperties(), new SimpleMeterRegistry())
+                .run();
+
+        assertEquals(1, archived);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users where id = 900001", Long.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("select name, email, version from users_archive where id = 900001");
+        assertEquals("Second Life", row.get("name"));
+        assertEquals("second@mail.com", row.get("email"));
+        assertEquals(3L, row.get("version"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.service.UserArchiveJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserArchiveJobTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties properties = new UserProperties();
+        properties.getArchive().setBatchSize(2);
+        properties.getArchive().setMaxBatchesPerRun(3);
+        properties.getArchive().setBatchPause(Duration.ZERO);
+
+        job = new UserArchiveJob(jdbcTemplate, mock(PlatformTransactionManager.class), properties, meterRegistry);
+    }
+
+    @Test
+    void run_movesBatchesUntilAShortBatch() {
+        when(jdbcTemplate.update(anyString(), any(), eq(2))).thenReturn(2, 1);
+
+        assertEquals(3, job.run());
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(), eq(2));
+        assertEquals(3.0, meterRegistry.counter("users.archived").count());
+    }
+
+    @Test
+    void run_stopsAtMaxBatchesPerRun() {
+        when(jdbcTemplate.update(anyString(), any(), eq(2))).thenReturn(2);
+
+        assertEquals(6, job.run());
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(2));
+    }
+
+    @Test
+    void run_lockTimeout_stopsWithoutFailing() {
+        when(jdbcTemplate.update(anyString(), any(), eq(2)))
+                .thenReturn(2)
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        assertEquals(2, job.run());
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(), eq(2));
+    }
+}
@@ -0,0 +1,103 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.CacheConfig;
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.service.UserSearchIndex;
+import com.bintang.usermanagement.service.UserService;
+import com.bintang.usermanagement.service.UserServiceImpl;
+import com.bintang.usermanagement.service.UserSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * getById racing a write, against PostgreSQL and the transaction-aware cache: the lookup reads
+ * the row, the write commits on another thread, and the lookup's put lands after both.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmbeddedPostgresConfig.class, CacheConfig.class, UserServiceImpl.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheRaceTest {
+
+    @MockitoBean
+    private UserCounter userCounter;
+
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @MockitoBean
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.USERS_CACHE).clear();
+    }
+
+    @Test
+    void getById_readBeforeDeleteCommits_doesNotCacheTheDeletedUser() {
+        Long id = userService.create(CreateUserRequest.builder()
+                .name("Racing Delete")
+                .email("racing.delete@mail.com")
+                .build()).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // reads the live row; the put is deferred to this transaction's commit
+            userService.getById(id);
+            CompletableFuture.runAsync(() -> userService.delete(id, null)).join();
+        });
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(id));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getById(id));
+    }
+
+    @Test
+    void getById_readBeforeUpdateCommits_keepsTheUpdatedUser() {
+        Long id = userService.create(CreateUserRequest.builder()
+                .name("Racing Update")
+                .email("racing.update@mail.com")
+                .build()).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.getById(id);
+            CompletableFuture.runAsync(() -> userService.update(id, UpdateUserRequest.builder()
+                    .name("Updated")
+                    .email("racing.updated@mail.com")
+                    .build(), null)).join();
+        });
+
+        UserResponse cached = userService.getById(id);
+
+        assertEquals("Updated", cached.getName());
+        assertEquals(1L, cached.getVersion());
+    }
+}
@@ -0,0 +1,139 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.CacheConfig;
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.repository.projection.UserSummary;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.service.UserSearchIndex;
+import com.bintang.usermanagement.service.UserSuggestIndex;
+import com.bintang.usermanagement.service.UserService;
+import com.bintang.usermanagement.service.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, UserServiceImpl.class, UserCacheTest.Config.class})
+class UserCacheTest {
+
+    @Configuration
+    @EnableConfigurationProperties(UserProperties.class)
+    static class Config {
+    }
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserCounter userCounter;
+
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @MockitoBean
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final User user = User.builder()
+            .id(1L)
+            .name("Bintang")
+            .email("bintang@mail.com")
+            .build();
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.USERS_CACHE).clear();
+    }
+
+    @Test
+    void getById_secondCallIsServedFromCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.getById(1L);
+        UserResponse cached = userService.getById(1L);
+
+        assertEquals("Bintang", cached.getName());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getById_notFoundIsNotCached() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getById(1L));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getById(1L));
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void delete_evictsEntry_soSoftDeletedUserIsNeverServedFromCache() {
+        // the @Where filter hides the row once it is soft deleted
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user), Optional.of(user), Optional.empty());
+
+        userService.getById(1L);
+        assertNotNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+
+        userService.delete(1L, null);
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getById(1L));
+    }
+
+    @Test
+    void update_refreshesCachedEntry() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.updateReturning(1L, "Updated", "updated@mail.com"))
+                .thenReturn(Optional.of(new SpelAwareProxyProjectionFactory().createProjection(
+                        UserSummary.class, Map.of("id", 1L, "name", "Updated", "email", "updated@mail.com"))));
+
+        userService.getById(1L);
+        userService.update(1L, UpdateUserRequest.builder()
+                .name("Updated")
+                .email("updated@mail.com")
+                .build(), null);
+
+        UserResponse cached = userService.getById(1L);
+
+        assertEquals("Updated", cached.getName());
+        assertEquals("updated@mail.com", cached.getEmail());
+    }
+
+    @Test
+    void cacheFillingReads_areNotReadOnly_soReplicaRoutingSendsThemToThePrimary() throws Exception {
+        AnnotationTransactionAttributeSource source = new AnnotationTransactionAttributeSource();
+
+        TransactionAttribute getById = source.getTransactionAttribute(
+                UserServiceImpl.class.getMethod("getById", Long.class), UserServiceImpl.class);
+        TransactionAttribute getByIds = source.getTransactionAttribute(
+                UserServiceImpl.class.getMethod("getByIds", List.class), UserServiceImpl.class);
+
+        assertFalse(getById.isReadOnly());
+        assertFalse(getByIds.isReadOnly());
+    }
+}
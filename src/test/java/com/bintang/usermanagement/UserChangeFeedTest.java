@@ -0,0 +1,121 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserChange;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.service.UserChangeFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserChangeFeedTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties properties = new UserProperties();
+        properties.getChanges().setBatchSize(2);
+
+        // latest position when the feed starts, then the oldest retained one
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 1L);
+
+        feed = new UserChangeFeed(jdbcTemplate, mock(PlatformTransactionManager.class),
+                new SyncTaskExecutor(), properties, meterRegistry);
+    }
+
+    @Test
+    void constructor_doesNotQueryTheDatabase() {
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void run_publishesBatchesUntilAShortBatch() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(2, 1);
+
+        feed.run();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), eq(2));
+        assertEquals(3.0, meterRegistry.counter("user.changes.published").count());
+    }
+
+    @Test
+    void run_anotherInstanceRelaying_publishesNothing() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        feed.run();
+
+        verify(jdbcTemplate, never()).update(anyString(), eq(2));
+        assertEquals(0.0, meterRegistry.counter("user.changes.published").count());
+    }
+
+    @Test
+    void run_databaseError_isRetriedOnTheNextRun() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong()))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .thenReturn(true);
+        when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(1);
+
+        assertDoesNotThrow(feed::run);
+        feed.run();
+
+        assertEquals(1.0, meterRegistry.counter("user.changes.published").count());
+    }
+
+    @Test
+    void subscribe_replaysFromPositionThenJoinsLiveStream() {
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<UserChange>>any(), eq(5L), eq(2)))
+                .thenReturn(List.of(change(6), change(7)));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<UserChange>>any(), eq(7L), eq(2)))
+                .thenReturn(List.of(change(8), change(9)));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<UserChange>>any(), eq(9L), eq(2)))
+                .thenReturn(List.of(change(10)));
+
+        assertNotNull(feed.subscribe(5L));
+
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<UserChange>>any(), eq(10L), eq(2));
+        assertEquals(1.0, meterRegistry.get("user.changes.subscribers").gauge().value());
+
+        feed.close();
+        assertEquals(0.0, meterRegistry.get("user.changes.subscribers").gauge().value());
+    }
+
+    @Test
+    void subscribe_negativePosition_shouldThrowInvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> feed.subscribe(-1L));
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<UserChange>>any(), any(), any());
+    }
+
+    private static UserChange change(long position) {
+        return UserChange.builder()
+                .position(position)
+                .type(UserChange.Type.UPDATED)
+                .userId(position)
+                .name("User " + position)
+                .email("user" + position + "@mail.com")
+                .version(1L)
+                .changedAt(Instant.EPOCH)
+                .build();
+    }
+}
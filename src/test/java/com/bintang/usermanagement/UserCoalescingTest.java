@@ -0,0 +1,198 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.exception.ResourceNotFoundException;
+import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.service.CoalescingAspect;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.service.UserSearchIndex;
+import com.bintang.usermanagement.service.UserSuggestIndex;
+import com.bintang.usermanagement.service.UserService;
+import com.bintang.usermanagement.service.UserServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({UserServiceImpl.class, CoalescingAspect.class, UserCoalescingTest.Config.class})
+@TestPropertySource(properties = "app.users.coalescing.wait-timeout=1s")
+class UserCoalescingTest {
+
+    private static final int CALLERS = 50;
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @EnableConfigurationProperties(UserProperties.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // no caching, so every caller would otherwise reach the repository
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserCounter userCounter;
+
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @MockitoBean
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    // the aspect registers its counter once, so each test counts from where the last one left off
+    private double coalescedBefore;
+
+    @BeforeEach
+    void setUp() {
+        coalescedBefore = totalCoalescedCalls();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getById_parallelIdenticalCalls_runOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(User.builder().id(1L).name("Bintang").email("bintang@mail.com").build());
+        });
+
+        List<Future<UserResponse>> results = callGetByIdConcurrently(1L);
+        awaitCoalescedCalls(CALLERS - 1);
+        release.countDown();
+
+        for (Future<UserResponse> result : results) {
+            assertEquals("Bintang", result.get(5, TimeUnit.SECONDS).getName());
+        }
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getById_parallelIdenticalCalls_shareNotFound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById(99L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+
+        List<Future<UserResponse>> results = callGetByIdConcurrently(99L);
+        awaitCoalescedCalls(CALLERS - 1);
+        release.countDown();
+
+        for (Future<UserResponse> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, ex.getCause());
+        }
+        verify(userRepository, times(1)).findById(99L);
+    }
+
+    @Test
+    void getById_leaderStuck_joinedCallTimesOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById(7L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(User.builder().id(7L).name("Bintang").email("bintang@mail.com").build());
+        });
+
+        Future<UserResponse> leader = executor.submit(() -> userService.getById(7L));
+        verify(userRepository, timeout(5000)).findById(7L);
+        Future<UserResponse> follower = executor.submit(() -> userService.getById(7L));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(QueryTimeoutException.class, ex.getCause());
+
+        release.countDown();
+        assertEquals("Bintang", leader.get(5, TimeUnit.SECONDS).getName());
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void getById_sequentialCalls_eachRunAQuery() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(User.builder().id(1L).name("Bintang").email("bintang@mail.com").build()));
+
+        userService.getById(1L);
+        userService.getById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private List<Future<UserResponse>> callGetByIdConcurrently(long id) {
+        List<Future<UserResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> userService.getById(id)));
+        }
+        return results;
+    }
+
+    /**
+     * The leader is blocked in the repository until every other caller has joined it.
+     */
+    private void awaitCoalescedCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCalls() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Only " + coalescedCalls() + " of " + expected + " callers joined the in-flight call");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double coalescedCalls() {
+        return totalCoalescedCalls() - coalescedBefore;
+    }
+
+    private double totalCoalescedCalls() {
+        Counter counter = meterRegistry.find("user.service.coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
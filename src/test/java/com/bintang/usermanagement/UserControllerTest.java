@@ -2,30 +2,61 @@ package com.bintang.usermanagement;
 
 import com.bintang.usermanagement.controller.UserController;
 import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.CreateUsersBatchRequest;
+import com.bintang.usermanagement.dto.request.GetUsersByIdsRequest;
 import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BatchItemResult;
+import com.bintang.usermanagement.dto.response.BulkOperationResponse;
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
 import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.dto.response.UsersByIdsResponse;
+import com.bintang.usermanagement.exception.PreconditionFailedException;
+import com.bintang.usermanagement.service.CountMode;
 import com.bintang.usermanagement.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 
 @WebMvcTest(UserController.class)
 class UserControllerTest {
@@ -64,6 +95,66 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.data.name").value("Bintang"));
     }
 
+    @Test
+    void createUser_duplicateEmail_shouldReturnConflict() throws Exception {
+        CreateUserRequest request = CreateUserRequest.builder()
+                .name("Bintang")
+                .email("bintang@mail.com")
+                .build();
+
+        when(userService.create(any(CreateUserRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", null, "ux_users_email_active")));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Duplicate resource"))
+                .andExpect(jsonPath("$.errors.email[0]").value("email already exists"));
+    }
+
+    @Test
+    void createUsersBatch_success() throws Exception {
+        CreateUsersBatchRequest request = CreateUsersBatchRequest.builder()
+                .users(List.of(
+                        CreateUserRequest.builder().name("Bintang").email("bintang@mail.com").build(),
+                        CreateUserRequest.builder().name("Mada").email("bintang@mail.com").build()))
+                .build();
+
+        BatchCreateUsersResponse response = BatchCreateUsersResponse.builder()
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BatchItemResult.created(0, UserResponse.builder().id(1L).name("Bintang").email("bintang@mail.com").build()),
+                        BatchItemResult.duplicate(1)))
+                .build();
+
+        when(userService.createAll(anyList()))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.results[0].user.id").value(1))
+                .andExpect(jsonPath("$.data.results[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void createUsersBatch_shouldFail_whenItemInvalid() throws Exception {
+        CreateUsersBatchRequest request = CreateUsersBatchRequest.builder()
+                .users(List.of(CreateUserRequest.builder().name("Bintang").build()))
+                .build();
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['users[0].email']").exists());
+    }
+
     @Test
     void getAllUsers_success() throws Exception {
         UserResponse user = UserResponse.builder()
@@ -74,13 +165,173 @@ class UserControllerTest {
 
         Page<UserResponse> page = new PageImpl<>(List.of(user));
 
-        when(userService.getAll(any(Pageable.class)))
+        when(userService.getAll(any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(page);
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Users retrieved successfully"))
-                .andExpect(jsonPath("$.data.content[0].id").value(1));
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.pageable").doesNotExist());
+    }
+
+    @Test
+    void getAllUsers_acceptSmile_returnsSmile() throws Exception {
+        Page<UserResponse> page = new PageImpl<>(List.of(UserResponse.builder().id(1L).name("Bintang").build()));
+
+        when(userService.getAll(any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(page);
+
+        byte[] body = mockMvc.perform(get("/api/users").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode response = objectMapper.copyWith(new SmileFactory()).readTree(body);
+        assertEquals(1, response.at("/data/content/0/id").asInt());
+        assertEquals("Bintang", response.at("/data/content/0/name").asText());
+    }
+
+    @Test
+    void getAllUsers_countNone_returnsSliceWithoutTotals() throws Exception {
+        Slice<UserResponse> slice = new SliceImpl<>(
+                List.of(UserResponse.builder().id(1L).name("Bintang").build()), PageRequest.of(0, 10), true);
+
+        when(userService.getAll(any(Pageable.class), eq(CountMode.NONE)))
+                .thenReturn(slice);
+
+        mockMvc.perform(get("/api/users").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    void getAllUsers_unknownCountMode_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users").param("count", "approximate"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.count").exists());
+    }
+
+    @Test
+    void getAllUsersByCursor_success() throws Exception {
+        CursorPageResponse<UserResponse> page = CursorPageResponse.<UserResponse>builder()
+                .content(List.of(UserResponse.builder().id(1L).name("Bintang").email("bintang@mail.com").build()))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next")
+                .build();
+
+        when(userService.scroll(isNull(), isNull(), any(), eq(1), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/users")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    void searchUserByCursor_success() throws Exception {
+        CursorPageResponse<UserResponse> page = CursorPageResponse.<UserResponse>builder()
+                .content(List.of(UserResponse.builder().id(2L).name("Bintang").email("bintang@mail.com").build()))
+                .size(10)
+                .hasNext(false)
+                .build();
+
+        when(userService.scroll(eq("Bintang"), isNull(), eq("abc"), anyInt(), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("name", "Bintang")
+                        .param("after", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(2))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void exportUsers_ndjson_streamsOneUserPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponse> consumer = invocation.getArgument(0);
+            consumer.accept(UserResponse.builder().id(1L).name("Bintang").email("bintang@mail.com").build());
+            consumer.accept(UserResponse.builder().id(2L).name("Mada").email("mada@mail.com").build());
+            return 2L;
+        }).when(userService).exportAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, objectMapper.readTree(lines[0]).get("id").asInt());
+        assertEquals("Mada", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void exportUsers_csv_escapesValues() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponse> consumer = invocation.getArgument(0);
+            consumer.accept(UserResponse.builder().id(1L).name("Mada, Bintang").email("bintang@mail.com").build());
+            return 1L;
+        }).when(userService).exportAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id,name,email\n1,\"Mada, Bintang\",bintang@mail.com\n"));
+    }
+
+    @Test
+    void exportUsers_cbor_streamsDocumentSequence() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponse> consumer = invocation.getArgument(0);
+            consumer.accept(UserResponse.builder().id(1L).name("Bintang").email("bintang@mail.com").build());
+            consumer.accept(UserResponse.builder().id(2L).name("Mada").email("mada@mail.com").build());
+            return 2L;
+        }).when(userService).exportAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export").param("format", "cbor"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        List<JsonNode> users = objectMapper.copyWith(new CBORFactory())
+                .readerFor(JsonNode.class)
+                .<JsonNode>readValues(body)
+                .readAll();
+        assertEquals(2, users.size());
+        assertEquals("Mada", users.get(1).get("name").asText());
+    }
+
+    @Test
+    void exportUsers_unsupportedFormat_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.format").exists());
     }
 
     @Test
@@ -99,6 +350,146 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.data.name").value("Bintang"));
     }
 
+    @Test
+    void getUsersByIds_success() throws Exception {
+        when(userService.getByIds(List.of(3L, 1L, 9L))).thenReturn(UsersByIdsResponse.builder()
+                .users(List.of(
+                        UserResponse.builder().id(3L).name("Three").build(),
+                        UserResponse.builder().id(1L).name("One").build()))
+                .missing(List.of(9L))
+                .build());
+
+        mockMvc.perform(get("/api/users").param("ids", "3,1,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users[0].id").value(3))
+                .andExpect(jsonPath("$.data.users[1].id").value(1))
+                .andExpect(jsonPath("$.data.missing[0]").value(9));
+    }
+
+    @Test
+    void getUsers_idsAndAfter_isServedByCursor() throws Exception {
+        when(userService.scroll(isNull(), isNull(), any(), anyInt(), any()))
+                .thenReturn(CursorPageResponse.<UserResponse>builder()
+                        .content(List.of(UserResponse.builder().id(1L).name("Bintang").build()))
+                        .size(10)
+                        .hasNext(false)
+                        .build());
+
+        mockMvc.perform(get("/api/users")
+                        .param("ids", "3,1")
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1));
+
+        verify(userService, never()).getByIds(anyList());
+    }
+
+    @Test
+    void lookupUsers_success() throws Exception {
+        GetUsersByIdsRequest request = GetUsersByIdsRequest.builder().ids(List.of(2L)).build();
+        when(userService.getByIds(List.of(2L))).thenReturn(UsersByIdsResponse.builder()
+                .users(List.of(UserResponse.builder().id(2L).name("Two").build()))
+                .missing(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users[0].name").value("Two"));
+    }
+
+    @Test
+    void lookupUsers_emptyIds_shouldReturnBadRequest() throws Exception {
+        GetUsersByIdsRequest request = GetUsersByIdsRequest.builder().ids(List.of()).build();
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.ids").exists());
+
+        verify(userService, never()).getByIds(anyList());
+    }
+
+    @Test
+    void getUserById_withVersion_returnsETag() throws Exception {
+        when(userService.getById(1L))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang").version(3L).build());
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andExpect(jsonPath("$.data.version").value(3));
+    }
+
+    @Test
+    void getUserById_cbor_tagsTheRepresentation() throws Exception {
+        when(userService.getById(1L))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang").version(3L).build());
+
+        mockMvc.perform(get("/api/users/1").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("ETag", "\"3+cbor\""))
+                .andExpect(header().string("Vary", containsString("Accept")));
+    }
+
+    @Test
+    void getUserById_ifNoneMatchOtherRepresentation_returnsUser() throws Exception {
+        when(userService.getVersion(1L)).thenReturn(3L);
+        when(userService.getById(1L))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang").version(3L).build());
+
+        mockMvc.perform(get("/api/users/1")
+                        .header("If-None-Match", "\"3\"")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3+smile\""));
+    }
+
+    @Test
+    void getUserById_ifNoneMatchCurrentVersion_returnsNotModifiedWithoutLoadingUser() throws Exception {
+        when(userService.getVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getById(any());
+    }
+
+    @Test
+    void getUserById_ifNoneMatchStaleVersion_returnsUser() throws Exception {
+        when(userService.getVersion(1L)).thenReturn(4L);
+        when(userService.getById(1L))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang").version(4L).build());
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void getAllUsers_ifNoneMatchCurrentPage_returnsNotModified() throws Exception {
+        Page<UserResponse> page = new PageImpl<>(List.of(
+                UserResponse.builder().id(1L).name("Bintang").version(0L).build()));
+        when(userService.getAll(any(Pageable.class), eq(CountMode.EXACT))).thenReturn(page);
+
+        String etag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void updateUser_success() throws Exception {
         UpdateUserRequest request = UpdateUserRequest.builder()
@@ -112,7 +503,7 @@ class UserControllerTest {
                 .email("bintang.update@mail.com")
                 .build();
 
-        when(userService.update(eq(1L), any(UpdateUserRequest.class)))
+        when(userService.update(eq(1L), any(UpdateUserRequest.class), isNull()))
                 .thenReturn(response);
 
         mockMvc.perform(put("/api/users/1")
@@ -124,6 +515,61 @@ class UserControllerTest {
     }
 
 
+    @Test
+    void updateUser_withIfMatch_passesExpectedVersion() throws Exception {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Bintang Update")
+                .email("bintang.update@mail.com")
+                .build();
+
+        when(userService.update(eq(1L), any(UpdateUserRequest.class), eq(3L)))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang Update").version(4L).build());
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void updateUser_withIfMatchOfBinaryRepresentation_passesItsVersion() throws Exception {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Bintang Update")
+                .email("bintang.update@mail.com")
+                .build();
+
+        when(userService.update(eq(1L), any(UpdateUserRequest.class), eq(3L)))
+                .thenReturn(UserResponse.builder().id(1L).name("Bintang Update").version(4L).build());
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"3+cbor\"")
+                        .accept("application/cbor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4+cbor\""));
+    }
+
+    @Test
+    void updateUser_staleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Bintang Update")
+                .email("bintang.update@mail.com")
+                .build();
+
+        when(userService.update(eq(1L), any(UpdateUserRequest.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("User", 1L, 3L));
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors.version").exists());
+    }
+
     @Test
     void updateUser_shouldFail_whenEmailMissing() throws Exception {
         UpdateUserRequest request = UpdateUserRequest.builder()
@@ -148,7 +594,7 @@ class UserControllerTest {
 
         Page<UserResponse> page = new PageImpl<>(List.of(user));
 
-        when(userService.search(any(), any(), any(Pageable.class)))
+        when(userService.search(any(), any(), any(Pageable.class), eq(CountMode.EXACT)))
                 .thenReturn(page);
 
         mockMvc.perform(get("/api/users/search")
@@ -158,14 +604,72 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.data.content[0].name").value("Bintang"));
     }
 
+    @Test
+    void searchUser_relevanceMode_usesRankedSearch() throws Exception {
+        UserResponse user = UserResponse.builder().id(7L).name("Bintang Mada").build();
+        when(userService.searchRanked(eq("bintnag"), isNull(), any(Pageable.class), eq(CountMode.EXACT)))
+                .thenReturn(new PageImpl<>(List.of(user)));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("name", "bintnag")
+                        .param("mode", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(7));
+
+        verify(userService, never()).search(any(), any(), any(Pageable.class), any());
+    }
+
+    @Test
+    void suggest_success() throws Exception {
+        UserResponse user = UserResponse.builder().id(7L).name("Bintang Mada").email("bintang@mail.com").build();
+        when(userService.suggest("bin", 5)).thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/users/suggest")
+                        .param("prefix", "bin")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Suggestions retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].id").value(7));
+    }
+
+    @Test
+    void searchUser_unknownMode_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/search").param("mode", "fuzzy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.mode").exists());
+    }
+
     @Test
     void deleteUser_success() throws Exception {
-        doNothing().when(userService).delete(1L);
+        doNothing().when(userService).delete(1L, null);
 
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("User deleted successfully"));
     }
 
-}
+    @Test
+    void deleteAll_success() throws Exception {
+        when(userService.deleteAll(any()))
+                .thenReturn(BulkOperationResponse.builder().requested(3).affected(2).build());
+
+        mockMvc.perform(delete("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Users deleted successfully"))
+                .andExpect(jsonPath("$.data.requested").value(3))
+                .andExpect(jsonPath("$.data.affected").value(2));
+    }
 
+    @Test
+    void updateAll_invalidEmail_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"users\":[{\"id\":1,\"email\":\"not-an-email\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['users[0].email']").exists());
+
+        verify(userService, never()).updateAll(anyList());
+    }
+}
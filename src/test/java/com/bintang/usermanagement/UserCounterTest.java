@@ -0,0 +1,46 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.entity.User;
+import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.specification.UserSpecification;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCounterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void exact_withoutCache_countsEveryTime() {
+        UserCounter counter = new UserCounter(userRepository, new UserProperties());
+        Specification<User> spec = UserSpecification.filter("bintang", null);
+        when(userRepository.count(ArgumentMatchers.<Specification<User>>any())).thenReturn(3L);
+
+        counter.exact(spec, "bintang", null);
+        counter.exact(spec, "bintang", null);
+
+        verify(userRepository, times(2)).count(ArgumentMatchers.<Specification<User>>any());
+    }
+
+    @Test
+    void exact_withCache_reusesCountPerFilterCombination() {
+        UserProperties properties = new UserProperties();
+        properties.getCount().setExactCacheTtl(Duration.ofSeconds(30));
+        UserCounter counter = new UserCounter(userRepository, properties);
+        when(userRepository.count(ArgumentMatchers.<Specification<User>>any())).thenReturn(3L, 7L);
+
+        assertEquals(3L, counter.exact(UserSpecification.filter("Bintang", null), "Bintang", null));
+        assertEquals(3L, counter.exact(UserSpecification.filter("bintang", ""), "bintang", ""));
+        assertEquals(7L, counter.exact(UserSpecification.filter(null, "mail.com"), null, "mail.com"));
+
+        verify(userRepository, times(2)).count(ArgumentMatchers.<Specification<User>>any());
+    }
+}
@@ -0,0 +1,69 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.ImportJobResponse;
+import com.bintang.usermanagement.service.ImportJob;
+import com.bintang.usermanagement.service.UserImportJobRunner;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportJobRunnerTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final UserImportJobRunner jobRunner = new UserImportJobRunner(null, validator, new UserProperties(), null);
+
+    @Test
+    void stage_writesValidRows_andRejectsInvalidOnes() throws Exception {
+        ImportJob job = new ImportJob(Path.of("users.csv"), false, 100);
+        String csv = """
+                Name,Email
+                Bintang,bintang@mail.com
+                ,missing-name@mail.com
+                "Mada, Bintang",mada@mail.com
+                Broken,not-an-email
+                """;
+
+        StringWriter copyOut = new StringWriter();
+        jobRunner.stage(job, new StringReader(csv), copyOut);
+
+        assertEquals("1,Bintang,bintang@mail.com\r\n3,\"Mada, Bintang\",mada@mail.com\r\n", copyOut.toString());
+
+        ImportJobResponse response = job.toResponse();
+        assertEquals(4, response.getRowsRead());
+        assertEquals(2, response.getRowsStaged());
+        assertEquals(2, response.getRowsInvalid());
+        assertEquals(2, response.getRejects().size());
+        assertEquals(2, response.getRejects().get(0).getRow());
+        assertEquals("name", response.getRejects().get(0).getField());
+        assertEquals("email", response.getRejects().get(1).getField());
+    }
+
+    @Test
+    void stage_missingHeader_shouldFail() {
+        ImportJob job = new ImportJob(Path.of("users.csv"), false, 100);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> jobRunner.stage(job, new StringReader("full_name,mail\nBintang,bintang@mail.com\n"), new StringWriter())
+        );
+    }
+
+    @Test
+    void rejects_areCappedButCountersAreNot() throws Exception {
+        ImportJob job = new ImportJob(Path.of("users.csv"), false, 1);
+
+        jobRunner.stage(job, new StringReader("name,email\na,x\nb,y\nc,z\n"), new StringWriter());
+
+        ImportJobResponse response = job.toResponse();
+        assertEquals(3, response.getRowsInvalid());
+        assertEquals(1, response.getRejects().size());
+    }
+}
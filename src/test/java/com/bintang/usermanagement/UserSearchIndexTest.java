@@ -0,0 +1,107 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.service.UserSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSearchIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    private UserProperties userProperties;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userProperties = new UserProperties();
+        userProperties.getSearch().getIndex().setEnabled(true);
+        userProperties.getSearch().getIndex().setPath(directory.toString());
+        index = new UserSearchIndex(userProperties);
+
+        index.apply(List.of(
+                user(1L, "Anna Lee", "anna.lee@mail.com"),
+                user(2L, "Ann Lee", "ann@mail.com"),
+                user(3L, "Bintang Mada", "bintang@mail.com"),
+                user(4L, "José Álvarez", "jose@example.org")
+        ), List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void search_exactTokenRanksAbovePrefix() throws Exception {
+        UserSearchIndex.RankedUsers result = index.search("ann", null, 0, 10, true);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+        assertEquals(2, result.total());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void search_toleratesTyposAndAccents() throws Exception {
+        assertEquals(List.of(3L), ids(index.search("bintnag", null, 0, 10, true)));
+        assertEquals(List.of(4L), ids(index.search("jose alvarez", null, 0, 10, true)));
+    }
+
+    @Test
+    void search_everyTokenMustMatch() throws Exception {
+        assertEquals(List.of(1L), ids(index.search("anna lee", "lee", 0, 10, true)));
+        assertEquals(List.of(), ids(index.search("anna", "example", 0, 10, true)));
+    }
+
+    @Test
+    void search_pagesAndReportsNext() throws Exception {
+        UserSearchIndex.RankedUsers first = index.search(null, "mail", 0, 2, false);
+        UserSearchIndex.RankedUsers second = index.search(null, "mail", 2, 2, false);
+
+        assertEquals(2, first.users().size());
+        assertTrue(first.hasNext());
+        assertEquals(1, second.users().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void apply_replacesAndRemovesUsers() throws Exception {
+        index.apply(List.of(user(1L, "Anna Smith", "anna.smith@mail.com")), List.of(2L));
+
+        assertEquals(List.of(1L), ids(index.search("ann", null, 0, 10, true)));
+        assertEquals("Anna Smith", index.search("smith", null, 0, 10, true).users().get(0).getName());
+    }
+
+    @Test
+    void commit_keepsSyncedPointAcrossRestart() throws Exception {
+        Instant syncedUntil = Instant.parse("2026-01-01T00:00:00Z");
+        assertEquals(Optional.empty(), index.syncedUntil());
+
+        index.commit(syncedUntil);
+        index.close();
+        index = new UserSearchIndex(userProperties);
+
+        assertEquals(Optional.of(syncedUntil), index.syncedUntil());
+        assertEquals(List.of(3L), ids(index.search("bintang", null, 0, 10, true)));
+        assertFalse(index.isReady());
+    }
+
+    private static UserResponse user(long id, String name, String email) {
+        return UserResponse.builder().id(id).name(name).email(email).version(0L).build();
+    }
+
+    private static List<Long> ids(UserSearchIndex.RankedUsers result) {
+        return result.users().stream().map(UserResponse::getId).toList();
+    }
+}
@@ -1,30 +1,66 @@
 package com.bintang.usermanagement;
 
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.BulkDeleteUsersRequest;
+import com.bintang.usermanagement.dto.request.BulkUpdateUserItem;
 import com.bintang.usermanagement.dto.request.CreateUserRequest;
 import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.dto.response.BulkOperationResponse;
+import com.bintang.usermanagement.dto.response.CursorPageResponse;
+import com.bintang.usermanagement.dto.response.UserChange;
 import com.bintang.usermanagement.dto.response.UserResponse;
+import com.bintang.usermanagement.dto.response.UsersByIdsResponse;
 import com.bintang.usermanagement.entity.User;
-import com.bintang.usermanagement.exception.DuplicateResourceException;
+import com.bintang.usermanagement.exception.InvalidRequestException;
+import com.bintang.usermanagement.exception.PreconditionFailedException;
 import com.bintang.usermanagement.exception.ResourceNotFoundException;
 import com.bintang.usermanagement.repository.UserRepository;
+import com.bintang.usermanagement.repository.projection.UserSummary;
+import com.bintang.usermanagement.service.CountMode;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.service.UserSearchIndex;
 import com.bintang.usermanagement.service.UserServiceImpl;
+import com.bintang.usermanagement.service.UserSuggestIndex;
+import com.bintang.usermanagement.service.UsersChangedEvent;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +69,24 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserProperties userProperties = new UserProperties();
+
+    @Mock
+    private UserCounter userCounter;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserSuggestIndex userSuggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -44,10 +98,7 @@ public class UserServiceImplTest {
                 .email("bintang@mail.com")
                 .build();
 
-        when(userRepository.existsByEmail(request.getEmail()))
-                .thenReturn(false);
-
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenAnswer(invocation -> {
                     User user = invocation.getArgument(0);
                     user.setId(1L);
@@ -61,8 +112,43 @@ public class UserServiceImplTest {
         assertEquals("Bintang", response.getName());
         assertEquals("bintang@mail.com", response.getEmail());
 
-        verify(userRepository).existsByEmail(request.getEmail());
-        verify(userRepository).save(any(User.class));
+        // a single INSERT, no existence check first, plus its outbox row
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository).recordChanges(UserChange.Type.CREATED, List.of(1L));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void create_recordsOutboxRowAndPublishesChangedEvent() {
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenAnswer(invocation -> {
+                    User user = invocation.getArgument(0);
+                    user.setId(1L);
+                    return user;
+                });
+
+        userService.create(CreateUserRequest.builder().name("Bintang").email("bintang@mail.com").build());
+
+        InOrder inOrder = inOrder(userRepository, eventPublisher);
+        inOrder.verify(userRepository).saveAndFlush(any(User.class));
+        inOrder.verify(userRepository).recordChanges(UserChange.Type.CREATED, List.of(1L));
+        inOrder.verify(eventPublisher).publishEvent(new UsersChangedEvent(List.of(1L)));
+    }
+
+    @Test
+    void create_changeFeedDisabled_writesNoOutboxRow() {
+        userProperties.getChanges().setEnabled(false);
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenAnswer(invocation -> {
+                    User user = invocation.getArgument(0);
+                    user.setId(1L);
+                    return user;
+                });
+
+        userService.create(CreateUserRequest.builder().name("Bintang").email("bintang@mail.com").build());
+
+        verify(userRepository, never()).recordChanges(any(), any());
+        verify(eventPublisher).publishEvent(new UsersChangedEvent(List.of(1L)));
     }
 
     @Test
@@ -71,18 +157,59 @@ public class UserServiceImplTest {
                 .email("bintang@mail.com")
                 .build();
 
-        when(userRepository.existsByEmail(request.getEmail()))
-                .thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", null, "ux_users_email_active")));
 
-        DuplicateResourceException ex = assertThrows(
-                DuplicateResourceException.class,
+        // translated to DuplicateResourceException by GlobalExceptionHandler
+        assertThrows(
+                DataIntegrityViolationException.class,
                 () -> userService.create(request)
         );
 
-        assertEquals("email", ex.getField());
-        assertEquals("email already exists", ex.getMessage());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    // ================= CREATE ALL =================
+
+    @Test
+    void createAll_insertsInBatches_andReportsDuplicates() {
+        userProperties.setBatchSize(2);
+
+        List<CreateUserRequest> requests = List.of(
+                CreateUserRequest.builder().name("A").email("a@mail.com").build(),
+                CreateUserRequest.builder().name("B").email("taken@mail.com").build(),
+                CreateUserRequest.builder().name("C").email("c@mail.com").build(),
+                CreateUserRequest.builder().name("D").email("a@mail.com").build(),
+                CreateUserRequest.builder().name("E").email("e@mail.com").build()
+        );
+
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of("taken@mail.com"));
+
+        AtomicLong ids = new AtomicLong();
+        when(userRepository.saveAllAndFlush(anyList()))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(ids.incrementAndGet()));
+                    return users;
+                });
 
-        verify(userRepository, never()).save(any());
+        BatchCreateUsersResponse response = userService.createAll(requests);
+
+        assertEquals(3, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals("CREATED", response.getResults().get(0).getStatus());
+        assertEquals("DUPLICATE", response.getResults().get(1).getStatus());
+        assertEquals(2L, response.getResults().get(2).getUser().getId());
+        assertEquals("DUPLICATE", response.getResults().get(3).getStatus());
+        assertEquals(3L, response.getResults().get(4).getUser().getId());
+
+        // one duplicate lookup plus ceil(3 / 2) batches instead of 2 round trips per user
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, times(2)).saveAllAndFlush(anyList());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     // ================= GET BY ID =================
@@ -122,24 +249,162 @@ public class UserServiceImplTest {
     void search_success() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        User user = User.builder()
+        UserResponse user = UserResponse.builder()
                 .id(1L)
                 .name("Bintang")
                 .email("bintang@mail.com")
                 .build();
 
-        Page<User> page = new PageImpl<>(List.of(user), pageable, 1);
+        Page<UserResponse> page = new PageImpl<>(List.of(user), pageable, 1);
 
-        when(userRepository.findAll(
+        when(userRepository.findAllProjected(
                 ArgumentMatchers.<Specification<User>>any(),
-                eq(pageable))
+                eq(pageable),
+                any(LongSupplier.class))
         ).thenReturn(page);
 
-        Page<UserResponse> result =
-                userService.search("Bintang", "bintang@mail.com", pageable);
+        Slice<UserResponse> result =
+                userService.search("Bintang", "bintang@mail.com", pageable, CountMode.EXACT);
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1, ((Page<UserResponse>) result).getTotalElements());
         assertEquals("Bintang", result.getContent().get(0).getName());
+
+        // read path selects DTOs directly, never loading managed entities
+        verify(userRepository, never()).findAll(ArgumentMatchers.<Specification<User>>any(), any(Pageable.class));
+    }
+
+    @Test
+    void search_termTooShort_shouldThrowException() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
+                () -> userService.search("bi", null, pageable, CountMode.EXACT)
+        );
+
+        assertEquals("name", ex.getField());
+        verify(userRepository, never()).findAllProjected(
+                ArgumentMatchers.<Specification<User>>any(), any(Pageable.class), any(LongSupplier.class));
+    }
+
+    @Test
+    void search_termPaddedToMinimumLength_shouldThrowException() {
+        InvalidRequestException ex = assertThrows(
+                InvalidRequestException.class,
+                () -> userService.search(" ab ", null, PageRequest.of(0, 10), CountMode.ESTIMATE)
+        );
+
+        assertEquals("name", ex.getField());
+    }
+
+    @Test
+    void search_paddedTerm_searchesTheStrippedTerm() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userRepository.findAllProjected(
+                ArgumentMatchers.<Specification<User>>any(), eq(pageable), any(LongSupplier.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(2, LongSupplier.class).getAsLong();
+                    return Page.empty(pageable);
+                });
+
+        userService.search("  Bintang ", null, pageable, CountMode.ESTIMATE);
+
+        verify(userCounter).estimate("Bintang", null);
+    }
+
+    @Test
+    void search_countEstimate_usesPlannerEstimate() {
+        Pageable pageable = PageRequest.of(0, 1);
+        UserResponse user = UserResponse.builder().id(1L).name("Bintang").build();
+
+        when(userRepository.findAllProjected(
+                ArgumentMatchers.<Specification<User>>any(),
+                eq(pageable),
+                any(LongSupplier.class))
+        ).thenAnswer(invocation -> new PageImpl<>(List.of(user), pageable,
+                invocation.<LongSupplier>getArgument(2).getAsLong()));
+        when(userCounter.estimate("Bintang", null)).thenReturn(120_000L);
+
+        Slice<UserResponse> result = userService.search("Bintang", null, pageable, CountMode.ESTIMATE);
+
+        assertEquals(120_000L, ((Page<UserResponse>) result).getTotalElements());
+        verify(userCounter, never()).exact(any(), any(), any());
+        verify(userRepository, never()).count(ArgumentMatchers.<Specification<User>>any());
+    }
+
+    @Test
+    void searchRanked_indexReady_servesFromIndexWithoutDatabase() throws Exception {
+        Pageable pageable = PageRequest.of(1, 10);
+        UserResponse user = UserResponse.builder().id(7L).name("Bintang Mada").build();
+
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("bintnag", null, 10, 10, false))
+                .thenReturn(new UserSearchIndex.RankedUsers(List.of(user), 11, false));
+
+        Slice<UserResponse> result = userService.searchRanked("bintnag", null, pageable, CountMode.NONE);
+
+        assertEquals(List.of(user), result.getContent());
+        assertFalse(result.hasNext());
+        verifyNoInteractions(userRepository, userCounter);
+    }
+
+    @Test
+    void searchRanked_indexNotReady_fallsBackToSql() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userSearchIndex.isReady()).thenReturn(false);
+        when(userRepository.findAllProjectedSlice(ArgumentMatchers.<Specification<User>>any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(UserResponse.builder().id(1L).build()), pageable, false));
+
+        Slice<UserResponse> result = userService.searchRanked("Bintang", null, pageable, CountMode.NONE);
+
+        assertEquals(1, result.getNumberOfElements());
+        verify(userSearchIndex, never()).search(any(), any(), anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void searchRanked_beyondResultWindow_shouldThrowInvalidRequest() {
+        Pageable pageable = PageRequest.of(1000, 10);
+
+        assertThrows(InvalidRequestException.class,
+                () -> userService.searchRanked("Bintang", null, pageable, CountMode.NONE));
+        verifyNoInteractions(userSearchIndex);
+    }
+
+    // ================= SUGGEST =================
+    @Test
+    void suggest_indexReady_servesFromIndexWithoutDatabase() {
+        UserResponse user = UserResponse.builder().id(7L).name("Bintang Mada").build();
+        when(userSuggestIndex.isReady()).thenReturn(true);
+        when(userSuggestIndex.suggest("bi", 10)).thenReturn(List.of(user));
+
+        assertEquals(List.of(user), userService.suggest("bi", 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void suggest_indexNotReady_fallsBackToSql() {
+        UserResponse user = UserResponse.builder().id(7L).name("Bintang Mada").build();
+        when(userSuggestIndex.isReady()).thenReturn(false);
+        when(userRepository.findByPrefix("bin", 10)).thenReturn(List.of(user));
+
+        assertEquals(List.of(user), userService.suggest(" bin ", 10));
+        verify(userSuggestIndex, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    void suggest_indexNotReadyAndPrefixTooShort_returnsNothing() {
+        when(userSuggestIndex.isReady()).thenReturn(false);
+
+        assertEquals(List.of(), userService.suggest("bi", 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void suggest_invalidLimitOrBlankPrefix_shouldThrowInvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> userService.suggest("bin", 0));
+        assertThrows(InvalidRequestException.class, () -> userService.suggest("bin", 51));
+        assertThrows(InvalidRequestException.class, () -> userService.suggest(" ", 10));
+        verifyNoInteractions(userSuggestIndex, userRepository);
     }
 
     // ================= GET ALL =================
@@ -148,21 +413,103 @@ public class UserServiceImplTest {
     void getAll_success() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        User user = User.builder()
+        UserResponse user = UserResponse.builder()
                 .id(1L)
                 .name("Bintang")
                 .email("bintang@mail.com")
                 .build();
 
-        Page<User> page = new PageImpl<>(List.of(user), pageable, 1);
+        Page<UserResponse> page = new PageImpl<>(List.of(user), pageable, 1);
 
-        when(userRepository.findAll(pageable))
-                .thenReturn(page);
+        when(userRepository.findAllProjected(
+                ArgumentMatchers.<Specification<User>>any(),
+                eq(pageable),
+                any(LongSupplier.class))
+        ).thenReturn(page);
 
-        Page<UserResponse> result = userService.getAll(pageable);
+        Slice<UserResponse> result = userService.getAll(pageable, CountMode.EXACT);
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1, ((Page<UserResponse>) result).getTotalElements());
         assertEquals("Bintang", result.getContent().get(0).getName());
+
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getAll_countNone_returnsSliceWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<UserResponse> slice = new SliceImpl<>(
+                List.of(UserResponse.builder().id(1L).build()), pageable, true);
+
+        when(userRepository.findAllProjectedSlice(
+                ArgumentMatchers.<Specification<User>>any(),
+                eq(pageable))
+        ).thenReturn(slice);
+
+        Slice<UserResponse> result = userService.getAll(pageable, CountMode.NONE);
+
+        assertTrue(result.hasNext());
+        assertFalse(result instanceof Page);
+        verifyNoInteractions(userCounter);
+    }
+
+    // ================= SCROLL =================
+
+    @Test
+    void scroll_firstPage_returnsNextCursor() {
+        User first = User.builder().id(1L).name("Alice").email("alice@mail.com").build();
+        User second = User.builder().id(2L).name("Bintang").email("bintang@mail.com").build();
+
+        Window<User> window = Window.from(
+                List.of(first, second),
+                index -> ScrollPosition.forward(Map.of("name", index == 0 ? "Alice" : "Bintang", "id", index + 1L)),
+                true);
+
+        when(userRepository.findBy(ArgumentMatchers.<Specification<User>>any(), any()))
+                .thenReturn(window);
+
+        CursorPageResponse<UserResponse> page =
+                userService.scroll(null, null, null, 2, Sort.by("name"));
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNotNull(page.getNextCursor());
+
+        verify(userRepository, never()).count();
+        verify(userRepository, never()).findAll(ArgumentMatchers.<Specification<User>>any(), any(Pageable.class));
+    }
+
+    @Test
+    void scroll_lastPage_hasNoCursor() {
+        Window<User> window = Window.from(
+                List.of(User.builder().id(3L).name("Mada").email("mada@mail.com").build()),
+                index -> ScrollPosition.forward(Map.of("id", 3L)),
+                false);
+
+        when(userRepository.findBy(ArgumentMatchers.<Specification<User>>any(), any()))
+                .thenReturn(window);
+
+        CursorPageResponse<UserResponse> page =
+                userService.scroll("mada", null, null, 2, Sort.by("id"));
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void scroll_invalidCursor_shouldThrowException() {
+        assertThrows(
+                InvalidRequestException.class,
+                () -> userService.scroll(null, null, "not-a-cursor", 10, Sort.by("id"))
+        );
+    }
+
+    @Test
+    void scroll_unsupportedSort_shouldThrowException() {
+        assertThrows(
+                InvalidRequestException.class,
+                () -> userService.scroll(null, null, null, 10, Sort.by("isDeleted"))
+        );
     }
 
     // ================= UPDATE =================
@@ -174,45 +521,136 @@ public class UserServiceImplTest {
                 .email("updated@mail.com")
                 .build();
 
-        User user = User.builder()
-                .id(1L)
-                .name("Old Name")
-                .email("old@mail.com")
-                .build();
+        when(userRepository.updateReturning(1L, "Updated Name", "updated@mail.com"))
+                .thenReturn(Optional.of(summary(1L, "Updated Name", "updated@mail.com")));
 
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
+        UserResponse response = userService.update(1L, request, null);
 
-        when(userRepository.existsByEmailAndIdNot(request.getEmail(), 1L))
-                .thenReturn(false);
+        assertEquals("Updated Name", response.getName());
+        assertEquals("updated@mail.com", response.getEmail());
 
-        when(userRepository.save(any(User.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        // a single UPDATE ... RETURNING, no load or existence check first, plus its outbox row
+        verify(userRepository).updateReturning(1L, "Updated Name", "updated@mail.com");
+        verify(userRepository).recordChanges(UserChange.Type.UPDATED, List.of(1L));
+        verifyNoMoreInteractions(userRepository);
+    }
 
-        UserResponse response = userService.update(1L, request);
+    @Test
+    void update_notFound_shouldThrowException() {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Updated Name")
+                .email("updated@mail.com")
+                .build();
 
-        assertEquals("Updated Name", response.getName());
-        assertEquals("updated@mail.com", response.getEmail());
+        when(userRepository.updateReturning(1L, "Updated Name", "updated@mail.com"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> userService.update(1L, request, null)
+        );
     }
 
     @Test
     void update_duplicateEmail_shouldThrowException() {
         UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Updated Name")
                 .email("dup@mail.com")
                 .build();
 
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.of(new User()));
+        when(userRepository.updateReturning(1L, "Updated Name", "dup@mail.com"))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", null, "ux_users_email_active")));
 
-        when(userRepository.existsByEmailAndIdNot(request.getEmail(), 1L))
-                .thenReturn(true);
+        assertThrows(
+                DataIntegrityViolationException.class,
+                () -> userService.update(1L, request, null)
+        );
+    }
+
+    @Test
+    void update_withExpectedVersion_usesConditionalUpdate() {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Updated Name")
+                .email("updated@mail.com")
+                .build();
+
+        when(userRepository.updateReturning(1L, "Updated Name", "updated@mail.com", 3L))
+                .thenReturn(Optional.of(summary(1L, "Updated Name", "updated@mail.com", 4L)));
+
+        UserResponse response = userService.update(1L, request, 3L);
+
+        assertEquals(4L, response.getVersion());
+        verify(userRepository).updateReturning(1L, "Updated Name", "updated@mail.com", 3L);
+        verify(userRepository).recordChanges(UserChange.Type.UPDATED, List.of(1L));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void update_staleVersion_shouldThrowPreconditionFailed() {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Updated Name")
+                .email("updated@mail.com")
+                .build();
+
+        when(userRepository.updateReturning(1L, "Updated Name", "updated@mail.com", 3L))
+                .thenReturn(Optional.empty());
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> userService.update(1L, request, 3L)
+        );
+    }
+
+    @Test
+    void update_expectedVersionButMissingUser_shouldThrowNotFound() {
+        UpdateUserRequest request = UpdateUserRequest.builder()
+                .name("Updated Name")
+                .email("updated@mail.com")
+                .build();
+
+        when(userRepository.updateReturning(1L, "Updated Name", "updated@mail.com", 3L))
+                .thenReturn(Optional.empty());
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.empty());
 
         assertThrows(
-                DuplicateResourceException.class,
-                () -> userService.update(1L, request)
+                ResourceNotFoundException.class,
+                () -> userService.update(1L, request, 3L)
         );
     }
 
+    // ================= VERSION =================
+
+    @Test
+    void getVersion_usesVersionOnlyQuery() {
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, userService.getVersion(1L));
+        verify(userRepository).findVersionById(1L);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    // ================= EXPORT =================
+
+    @Test
+    void exportAll_streamsEveryUser_andClosesCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<UserSummary> users = Stream.of(
+                summary(1L, "Bintang", "bintang@mail.com"),
+                summary(2L, "Mada", "mada@mail.com")
+        ).onClose(() -> closed.set(true));
+
+        when(userRepository.streamAll()).thenReturn(users);
+
+        List<UserResponse> exported = new ArrayList<>();
+        long count = userService.exportAll(exported::add);
+
+        assertEquals(2, count);
+        assertEquals("Mada", exported.get(1).getName());
+        assertTrue(closed.get());
+    }
+
     // ================= DELETE =================
 
     @Test
@@ -225,10 +663,31 @@ public class UserServiceImplTest {
         when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user));
 
-        userService.delete(1L);
+        userService.delete(1L, null);
 
         assertTrue(user.isDeleted());
-        verify(userRepository).save(user);
+        assertNotNull(user.getDeletedAt());
+        verify(userRepository).saveAndFlush(user);
+        verify(userRepository).recordChanges(UserChange.Type.DELETED, List.of(1L));
+    }
+
+    @Test
+    void delete_staleVersion_shouldThrowPreconditionFailed() {
+        User user = User.builder()
+                .id(1L)
+                .version(2L)
+                .build();
+
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> userService.delete(1L, 1L)
+        );
+        assertFalse(user.isDeleted());
+        verify(userRepository, never()).saveAndFlush(any());
+        verify(userRepository, never()).recordChanges(any(), any());
     }
 
     @Test
@@ -238,7 +697,150 @@ public class UserServiceImplTest {
 
         assertThrows(
                 ResourceNotFoundException.class,
-                () -> userService.delete(1L)
+                () -> userService.delete(1L, null)
+        );
+    }
+
+    // ================= GET BY IDS =================
+
+    @Test
+    void getByIds_keepsRequestOrderUsesCacheAndReportsMissing() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("users")).thenReturn(cache);
+        when(cache.get(3L, UserResponse.class)).thenReturn(null);
+        when(cache.get(2L, UserResponse.class))
+                .thenReturn(UserResponse.builder().id(2L).name("Cached").build());
+        when(cache.get(1L, UserResponse.class)).thenReturn(null);
+        when(cache.get(4L, UserResponse.class)).thenReturn(null);
+        when(userRepository.findAllProjectedById(List.of(3L, 1L, 4L))).thenReturn(List.of(
+                UserResponse.builder().id(1L).name("One").build(),
+                UserResponse.builder().id(3L).name("Three").build()));
+
+        UsersByIdsResponse response = userService.getByIds(List.of(3L, 2L, 1L, 3L, 4L));
+
+        assertEquals(List.of(3L, 2L, 1L), response.getUsers().stream().map(UserResponse::getId).toList());
+        assertEquals("Cached", response.getUsers().get(1).getName());
+        assertEquals(List.of(4L), response.getMissing());
+        verify(cache).put(eq(1L), any(UserResponse.class));
+        verify(cache).put(eq(3L), any(UserResponse.class));
+        verify(cache, never()).put(eq(2L), any());
+    }
+
+    @Test
+    void getByIds_allCached_skipsQuery() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("users")).thenReturn(cache);
+        when(cache.get(1L, UserResponse.class)).thenReturn(UserResponse.builder().id(1L).build());
+
+        UsersByIdsResponse response = userService.getByIds(List.of(1L));
+
+        assertEquals(1, response.getUsers().size());
+        verify(userRepository, never()).findAllProjectedById(any());
+    }
+
+    @Test
+    void getByIds_tooManyIds_shouldThrowInvalidRequest() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        assertThrows(InvalidRequestException.class, () -> userService.getByIds(ids));
+        verifyNoInteractions(userRepository);
+    }
+
+    // ================= BULK =================
+
+    @Test
+    void deleteAll_byIds_chunksDistinctIdsAndEvictsDeletedUsers() {
+        userProperties.getBulk().setChunkSize(2);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("users")).thenReturn(cache);
+        when(userRepository.softDeleteAllById(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(userRepository.softDeleteAllById(List.of(3L))).thenReturn(List.of());
+
+        BulkOperationResponse response = userService.deleteAll(BulkDeleteUsersRequest.builder()
+                .ids(List.of(1L, 2L, 3L, 2L))
+                .build());
+
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getAffected());
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+        verify(cache, never()).evict(3L);
+        verify(userRepository).recordChanges(UserChange.Type.DELETED, List.of(1L, 2L));
+    }
+
+    @Test
+    void deleteAll_byFilter_repeatsUntilAShortChunk() {
+        userProperties.getBulk().setChunkSize(2);
+        when(cacheManager.getCache("users")).thenReturn(mock(Cache.class));
+        when(userRepository.softDeleteMatching("bintang", null, 2))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+
+        BulkOperationResponse response = userService.deleteAll(BulkDeleteUsersRequest.builder()
+                .name("bintang")
+                .build());
+
+        assertNull(response.getRequested());
+        assertEquals(3, response.getAffected());
+        verify(userRepository, times(2)).softDeleteMatching("bintang", null, 2);
+    }
+
+    @Test
+    void deleteAll_byPaddedFilter_deletesByTheStrippedTerm() {
+        when(cacheManager.getCache("users")).thenReturn(mock(Cache.class));
+        when(userRepository.softDeleteMatching("bintang", null, 1000)).thenReturn(List.of(1L));
+
+        userService.deleteAll(BulkDeleteUsersRequest.builder()
+                .name("  bintang  ")
+                .email("   ")
+                .build());
+
+        verify(userRepository).softDeleteMatching("bintang", null, 1000);
+    }
+
+    @Test
+    void deleteAll_withoutIdsOrFilter_shouldThrowInvalidRequest() {
+        assertThrows(
+                InvalidRequestException.class,
+                () -> userService.deleteAll(BulkDeleteUsersRequest.builder().build())
         );
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void updateAll_chunksItemsAndEvictsUpdatedUsers() {
+        userProperties.getBulk().setChunkSize(2);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("users")).thenReturn(cache);
+        List<BulkUpdateUserItem> items = List.of(
+                BulkUpdateUserItem.builder().id(1L).name("A").build(),
+                BulkUpdateUserItem.builder().id(2L).email("b@mail.com").build(),
+                BulkUpdateUserItem.builder().id(3L).name("C").build());
+        when(userRepository.updateAll(items.subList(0, 2))).thenReturn(List.of(1L, 2L));
+        when(userRepository.updateAll(items.subList(2, 3))).thenReturn(List.of(3L));
+
+        BulkOperationResponse response = userService.updateAll(items);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(3, response.getAffected());
+        verify(cache).evict(3L);
+    }
+
+    @Test
+    void updateAll_duplicateId_shouldThrowInvalidRequest() {
+        List<BulkUpdateUserItem> items = List.of(
+                BulkUpdateUserItem.builder().id(1L).name("A").build(),
+                BulkUpdateUserItem.builder().id(1L).name("B").build());
+
+        assertThrows(InvalidRequestException.class, () -> userService.updateAll(items));
+        verify(userRepository, never()).updateAll(any());
+    }
+
+    private static UserSummary summary(Long id, String name, String email) {
+        return summary(id, name, email, 0L);
+    }
+
+    private static UserSummary summary(Long id, String name, String email, Long version) {
+        return new SpelAwareProxyProjectionFactory().createProjection(
+                UserSummary.class, Map.of("id", id, "name", name, "email", email, "version", version));
     }
 }
@@ -0,0 +1,146 @@
+package com.bintang.usermanagement;
+
+import com.bintang.usermanagement.config.CacheConfig;
+import com.bintang.usermanagement.config.UserProperties;
+import com.bintang.usermanagement.dto.request.CreateUserRequest;
+import com.bintang.usermanagement.dto.request.UpdateUserRequest;
+import com.bintang.usermanagement.dto.response.BatchCreateUsersResponse;
+import com.bintang.usermanagement.service.UserCounter;
+import com.bintang.usermanagement.service.UserSearchIndex;
+import com.bintang.usermanagement.service.UserService;
+import com.bintang.usermanagement.service.UserServiceImpl;
+import com.bintang.usermanagement.service.UserSuggestIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements the write paths send to PostgreSQL, counted at the JDBC driver so Hibernate's and
+ * JdbcTemplate's (outbox) statements are both included. Ids come from the pooled users_seq: one
+ * nextval per block of app.users.batch-size (50) ids.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmbeddedPostgresConfig.class, CacheConfig.class, UserServiceImpl.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserWriteStatementsTest {
+
+    @MockitoBean
+    private UserCounter userCounter;
+
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @MockitoBean
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserProperties userProperties;
+
+    @Autowired
+    private EmbeddedPostgresConfig.StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void resetCount() {
+        dataSource.reset();
+    }
+
+    @AfterEach
+    void enableChangeFeed() {
+        userProperties.getChanges().setEnabled(true);
+    }
+
+    @Test
+    void createAll_hundredUsers_sendsAHandfulOfStatementsInsteadOfTwoPerUser() {
+        List<CreateUserRequest> requests = IntStream.range(0, 100)
+                .mapToObj(i -> CreateUserRequest.builder()
+                        .name("Batch User " + i)
+                        .email("batch" + i + "@mail.com")
+                        .build())
+                .toList();
+
+        BatchCreateUsersResponse response = userService.createAll(requests);
+
+        assertEquals(100, response.getCreated());
+        // one duplicate lookup, two 50-row insert batches, at most three nextval for the
+        // ids and one outbox insert; one existsByEmail plus one INSERT per user would be 200
+        long statements = dataSource.executed();
+        assertTrue(statements <= 7, "statements: " + statements);
+    }
+
+    @Test
+    void create_sendsOneInsert_plusItsOutboxRow() {
+        userService.create(CreateUserRequest.builder().name("Single").email("single@mail.com").build());
+
+        List<String> statements = writes();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("insert into users"));
+        assertTrue(statements.get(1).startsWith("insert into user_outbox"));
+    }
+
+    @Test
+    void create_changeFeedDisabled_sendsOneInsert() {
+        userProperties.getChanges().setEnabled(false);
+
+        userService.create(CreateUserRequest.builder().name("Single").email("single.nofeed@mail.com").build());
+
+        List<String> statements = writes();
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("insert into users"));
+    }
+
+    @Test
+    void update_sendsOneUpdateReturning_plusItsOutboxRow() {
+        Long id = userService.create(CreateUserRequest.builder().name("Before").email("before@mail.com").build()).getId();
+        dataSource.reset();
+
+        userService.update(id, UpdateUserRequest.builder().name("After").email("after@mail.com").build(), null);
+
+        List<String> statements = writes();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("update users"));
+        assertTrue(statements.get(0).contains("returning"));
+        assertTrue(statements.get(1).startsWith("insert into user_outbox"));
+    }
+
+    @Test
+    void update_changeFeedDisabled_sendsOneUpdateReturning() {
+        Long id = userService.create(CreateUserRequest.builder().name("Before").email("before.nofeed@mail.com").build()).getId();
+        userProperties.getChanges().setEnabled(false);
+        dataSource.reset();
+
+        userService.update(id, UpdateUserRequest.builder().name("After").email("after.nofeed@mail.com").build(), 0L);
+
+        List<String> statements = writes();
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("update users"));
+    }
+
+    /**
+     * Statements since the last reset, without the occasional nextval that opens a new block
+     * of ids: that is id allocation, shared by the next 50 inserts.
+     */
+    private List<String> writes() {
+        return dataSource.statements().stream()
+                .map(sql -> sql.strip().toLowerCase())
+                .filter(sql -> !sql.contains("nextval"))
+                .toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.bintang.usermanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class VirtualThreadRuntimeCheckTest {
+
+    @Configuration(proxyBeanMethods = false)
+    static class Empty {
+    }
+
+    @Test
+    void virtualThreadsOnOlderRuntime_failStartupWithAnalysis(CapturedOutput output) {
+        assumeTrue(JavaVersion.getJavaVersion().isOlderThan(JavaVersion.TWENTY_ONE), "runtime has virtual threads");
+
+        SpringApplication application = new SpringApplication(Empty.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        assertThrows(RuntimeException.class, () -> application.run("--spring.threads.virtual.enabled=true"));
+        assertTrue(output.toString().contains("needs a Java 21+ runtime, this is Java " + JavaVersion.getJavaVersion()));
+        assertTrue(output.toString().contains("Run the application on Java 21 or later"));
+    }
+
+    @Test
+    void platformThreads_startOnAnyRuntime() {
+        SpringApplication application = new SpringApplication(Empty.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        try (ConfigurableApplicationContext context = application.run("--spring.threads.virtual.enabled=false")) {
+            assertTrue(context.isActive());
+        }
+    }
+}